@@ -0,0 +1,78 @@
+package com.banquito.core.branches.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.repository.BranchRepository;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Entity builders and in-memory repository and template stubs shared by the benchmarks.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static List<Branch> branches(int size) {
+        List<Branch> branches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Branch branch = new Branch();
+            branch.setId(String.format("64a0%020x", i));
+            branch.setCode(String.format("B%05d", i));
+            branch.setName("Branch " + i);
+            branches.add(branch);
+        }
+        return branches;
+    }
+
+    /**
+     * MongoTemplate answering the by-code lookups from memory. Its client never connects: nothing
+     * else is called on it.
+     */
+    public static MongoTemplate mongoTemplate(List<Branch> branches) {
+        Map<Object, Branch> byCode = branches.stream().collect(Collectors.toMap(Branch::getCode, Function.identity()));
+        return new MongoTemplate(MongoClients.create("mongodb://localhost"), "benchmark") {
+
+            @Override
+            public <T> T findOne(Query query, Class<T> entityClass) {
+                return entityClass.cast(byCode.get(query.getQueryObject().get("code")));
+            }
+        };
+    }
+
+    public static BranchRepository branchRepository(List<Branch> branches) {
+        Map<String, Branch> byCode = branches.stream().collect(Collectors.toMap(Branch::getCode, Function.identity()));
+        Map<String, Branch> byId = branches.stream().collect(Collectors.toMap(Branch::getId, Function.identity()));
+        return (BranchRepository) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+                new Class<?>[] { BranchRepository.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAll":
+                            return branches;
+                        case "findByCode":
+                            return byCode.get(args[0]);
+                        case "findById":
+                            return Optional.ofNullable(byId.get(args[0]));
+                        case "save":
+                            return args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubBranchRepository";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
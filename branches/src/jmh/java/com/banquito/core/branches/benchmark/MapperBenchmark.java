@@ -0,0 +1,56 @@
+package com.banquito.core.branches.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.model.Branch;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    private List<Branch> branches;
+    private List<BranchRQRS> branchesRQRS;
+
+    @Setup
+    public void setUp() {
+        branches = Fixtures.branches(size);
+        branchesRQRS = BranchMapper.mapToList(branches);
+    }
+
+    @Benchmark
+    public List<BranchRQRS> branchToRQRS() {
+        return BranchMapper.mapToList(branches);
+    }
+
+    @Benchmark
+    public List<Branch> branchFromRQRS() {
+        List<Branch> mapped = new ArrayList<>(branchesRQRS.size());
+        for (BranchRQRS branchRQRS : branchesRQRS) {
+            mapped.add(BranchMapper.mapToBranch(branchRQRS));
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,57 @@
+package com.banquito.core.branches.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BranchRQRS> branches;
+    private byte[] branchesJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        branches = BranchMapper.mapToList(Fixtures.branches(size));
+        branchesJson = objectMapper.writeValueAsBytes(branches);
+    }
+
+    @Benchmark
+    public byte[] writeBranches() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(branches);
+    }
+
+    @Benchmark
+    public List<BranchRQRS> readBranches() throws Exception {
+        return objectMapper.readValue(branchesJson, new TypeReference<List<BranchRQRS>>() {
+        });
+    }
+}
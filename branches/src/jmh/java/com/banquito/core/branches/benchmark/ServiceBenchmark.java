@@ -0,0 +1,75 @@
+package com.banquito.core.branches.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.branches.config.BulkValues;
+import com.banquito.core.branches.config.MongoValues;
+import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchCache;
+import com.banquito.core.branches.service.BranchService;
+import com.banquito.core.branches.service.CollectionVersions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Service layer over an in-memory repository: measures the code between the controller and
+ * Mongo (logging, mapping) without any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({ "10", "1000" })
+    private int size;
+
+    private BranchService branchService;
+    private BranchCache branchCache;
+
+    @Setup
+    public void setUp() {
+        List<Branch> branches = Fixtures.branches(size);
+        CollectionVersions versions = new CollectionVersions();
+        // not started: the service falls back to the stub repository, the cache is measured on its own
+        branchCache = new BranchCache(Fixtures.mongoTemplate(branches), new MongoValues(), new SimpleMeterRegistry(),
+                versions);
+        for (Branch branch : branches) {
+            branchCache.put(branch);
+        }
+        branchService = new BranchService(Fixtures.branchRepository(branches), Fixtures.mongoTemplate(branches),
+                new BulkValues(), versions, new MongoValues(), branchCache);
+    }
+
+    @Benchmark
+    public List<BranchRQRS> listBranches() {
+        return BranchMapper.mapToList(branchService.getAll());
+    }
+
+    @Benchmark
+    public Branch lookByCode() {
+        return branchService.lookByCode("B00001");
+    }
+
+    @Benchmark
+    public Branch lookByCodeCached() {
+        return branchCache.get("B00001");
+    }
+}
@@ -0,0 +1,14 @@
+package com.banquito.core.branches.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "branches.bulk")
+@Data
+public class BulkValues {
+
+    private int chunkSize = 1000;
+}
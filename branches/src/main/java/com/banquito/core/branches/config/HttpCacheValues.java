@@ -0,0 +1,16 @@
+package com.banquito.core.branches.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "http.cache")
+@Data
+public class HttpCacheValues {
+
+    private boolean etagEnabled = true;
+    private boolean listCacheEnabled = true;
+    private String cacheControl = "no-cache";
+}
@@ -1,13 +1,19 @@
 package com.banquito.core.branches.config;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.core.convert.converter.Converter;
 import org.bson.types.Decimal128;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
@@ -15,15 +21,22 @@ import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 
 @Configuration
+@Profile("!reactive")
 public class MongoConfig extends AbstractMongoClientConfiguration {
     
     @Autowired
     private MongoValues mongoValues;
 
+    @Autowired
+    private ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers;
+
     @Override
     protected String getDatabaseName() {
         return mongoValues.getDatabase();
@@ -31,8 +44,10 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Override
     public MongoClient mongoClient() {
-        return MongoClients.create("mongodb://" + mongoValues.getUser()+ ":" + mongoValues.getPassword() + "@" 
-                + mongoValues.getHost() + ":"+mongoValues.getPort()+"/" + mongoValues.getDatabase() + "?authSource=admin");
+        MongoClientSettings.Builder settings = clientSettings(mongoValues);
+        // Boot's customizers carry the Micrometer connection pool and command listeners
+        this.customizers.orderedStream().forEach(customizer -> customizer.customize(settings));
+        return MongoClients.create(settings.build());
     }
 
     @Override
@@ -48,6 +63,48 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         return converter;
     }
 
+    /**
+     * Client settings shared with {@link ReactiveMongoConfig}: pool sizing, timeouts and wire
+     * compression from the mongo.* values on top of the connection string.
+     */
+    static MongoClientSettings.Builder clientSettings(MongoValues mongoValues) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String compressor : mongoValues.getCompressors()) {
+            switch (compressor.trim().toLowerCase()) {
+                case "zstd":
+                    compressors.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "snappy":
+                    compressors.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zlib":
+                    compressors.add(MongoCompressor.createZlibCompressor());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown mongo compressor: " + compressor);
+            }
+        }
+        return MongoClientSettings.builder()
+                .applyConnectionString(connectionString(mongoValues))
+                .compressorList(compressors)
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(mongoValues.getPoolMinSize())
+                        .maxSize(mongoValues.getPoolMaxSize())
+                        .maxConnecting(mongoValues.getPoolMaxConnecting())
+                        .maxConnectionIdleTime(mongoValues.getPoolMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxWaitTime(mongoValues.getPoolMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout((int) mongoValues.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) mongoValues.getSocketTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(mongoValues.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    static ConnectionString connectionString(MongoValues mongoValues) {
+        return new ConnectionString("mongodb://" + mongoValues.getUser()+ ":" + mongoValues.getPassword() + "@" 
+                + mongoValues.getHost() + ":"+mongoValues.getPort()+"/" + mongoValues.getDatabase() + "?authSource=admin");
+    }
+
     /**
      * Inject a CustomConversions bean to overwrite the default mapping of BigDecimal.
      *
@@ -56,6 +113,10 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Bean
     @Override
     public MongoCustomConversions customConversions() {
+        return new MongoCustomConversions(bigDecimalConverters());
+    }
+
+    static List<Converter<?, ?>> bigDecimalConverters() {
         Converter<Decimal128, BigDecimal> decimal128ToBigDecimal = new Converter<>() {
             @Override
             public BigDecimal convert(Decimal128 s) {
@@ -70,6 +131,6 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
             }
         };
 
-        return new MongoCustomConversions(Arrays.asList(decimal128ToBigDecimal, bigDecimalToDecimal128));
+        return Arrays.asList(decimal128ToBigDecimal, bigDecimalToDecimal128);
     }
 }
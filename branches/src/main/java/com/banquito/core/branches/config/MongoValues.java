@@ -1,5 +1,9 @@
 package com.banquito.core.branches.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -15,4 +19,26 @@ public class MongoValues {
     private String user;
     private String password;
     private int port;
+
+    private int poolMinSize;
+    private int poolMaxSize = 100;
+    private int poolMaxConnecting = 2;
+    /** Idle connections are closed after this time; zero keeps them open. */
+    private Duration poolMaxIdleTime = Duration.ZERO;
+    /** How long a request waits in the queue for a free pooled connection before failing. */
+    private Duration poolMaxWaitTime = Duration.ofMinutes(2);
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    /** Read timeout of a socket; zero waits forever. */
+    private Duration socketTimeout = Duration.ZERO;
+    private Duration serverSelectionTimeout = Duration.ofSeconds(30);
+    /** Server-side limit (maxTimeMS) of the lookup queries; zero leaves them unbounded. */
+    private Duration commandTimeout = Duration.ZERO;
+    /** Read preference of the lookup endpoints, e.g. primary or secondaryPreferred. */
+    private String lookupReadPreference = "primary";
+    /** Wire compressors offered to the server in order of preference: zstd, snappy, zlib. */
+    private List<String> compressors = new ArrayList<>();
+    /** Serve lookups by code from memory, kept in sync by a change stream (needs a replica set). */
+    private boolean branchCacheEnabled = true;
+    /** Wait before reopening a failed change stream; lookups go to Mongo meanwhile. */
+    private Duration changeStreamRetryInterval = Duration.ofSeconds(5);
 }
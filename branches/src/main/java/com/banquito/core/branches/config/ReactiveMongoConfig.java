@@ -0,0 +1,70 @@
+package com.banquito.core.branches.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+/**
+ * Reactive counterpart of {@link MongoConfig}, active with the "reactive" profile. Uses the same
+ * mongo.* values, client settings and conversions, and runs WebFlux on Netty instead of Tomcat.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveMongoConfig extends AbstractReactiveMongoConfiguration {
+
+    @Autowired
+    private MongoValues mongoValues;
+
+    @Autowired
+    private ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers;
+
+    @Override
+    protected String getDatabaseName() {
+        return mongoValues.getDatabase();
+    }
+
+    @Override
+    public MongoClient reactiveMongoClient() {
+        MongoClientSettings.Builder settings = MongoConfig.clientSettings(mongoValues);
+        this.customizers.orderedStream().forEach(customizer -> customizer.customize(settings));
+        return MongoClients.create(settings.build());
+    }
+
+    @Override
+    public boolean autoIndexCreation() {
+        return true;
+    }
+
+    @Bean
+    @Override
+    public MappingMongoConverter mappingMongoConverter(ReactiveMongoDatabaseFactory databaseFactory, MongoCustomConversions customConversions, MongoMappingContext mappingContext) {
+        MappingMongoConverter converter = super.mappingMongoConverter(databaseFactory, customConversions, mappingContext);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        return converter;
+    }
+
+    @Bean
+    @Override
+    public MongoCustomConversions customConversions() {
+        return new MongoCustomConversions(MongoConfig.bigDecimalConverters());
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
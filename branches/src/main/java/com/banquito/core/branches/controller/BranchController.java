@@ -1,7 +1,17 @@
 package com.banquito.core.branches.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,25 +19,49 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.banquito.core.branches.controller.dto.BranchBulkItemRS;
+import com.banquito.core.branches.controller.dto.BranchBulkRS;
+import com.banquito.core.branches.controller.dto.BranchLookupRS;
 import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.dto.CursorPageRS;
 import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.controller.mapper.CursorMapper;
+import com.banquito.core.branches.controller.mapper.FieldsMapper;
 import com.banquito.core.branches.exception.CRUDException;
+import com.banquito.core.branches.exception.CRUDExceptionMetrics;
 import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchBulkResult;
 import com.banquito.core.branches.service.BranchService;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/branches")
 public class BranchController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FLUSH_SIZE = 500;
+    private static final int MAX_LOOKUP_SIZE = 500;
+    // same code as a failed create, sent with the partial report when a chunk cannot be inserted
+    private static final int BULK_ABORTED = 510;
+    private static final Set<String> FIELDS = Set.of("id", "code", "name");
     
     private final BranchService branchService;
+    private final ObjectMapper objectMapper;
 
-    public BranchController(BranchService branchService) {
+    public BranchController(BranchService branchService, ObjectMapper objectMapper) {
         this.branchService = branchService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -38,6 +72,66 @@ public class BranchController {
         return ResponseEntity.ok(BranchMapper.mapToList(branches)); 
     }
 
+    @GetMapping(params = { "fields", "!size" })
+    public ResponseEntity<List<Map<String, Object>>> obtainAllFields(@RequestParam(name = "fields") String fields) {
+        List<String> attributes;
+        try {
+            attributes = FieldsMapper.parse(fields, FIELDS);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid branches fields: {}", fields);
+            return ResponseEntity.badRequest().build();
+        }
+        List<Map<String, Object>> branches = this.branchService.getAll(attributes);
+        log.info("Returning {} branches with fields {}", branches.size(), attributes);
+        return ResponseEntity.ok(branches);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<CursorPageRS<BranchRQRS>> obtainPage(@RequestParam(name = "size") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        String afterId;
+        try {
+            afterId = CursorMapper.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid branches cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+        List<Branch> branches = this.branchService.getPage(afterId, size);
+        log.info("Returning page of {} branches", branches.size());
+        String nextCursor = branches.size() < size ? null : CursorMapper.encode(branches.get(branches.size() - 1).getId());
+        return ResponseEntity.ok(CursorPageRS.<BranchRQRS>builder()
+            .items(BranchMapper.mapToList(branches))
+            .size(branches.size())
+            .nextCursor(nextCursor).build());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Going to export all branches");
+        StreamingResponseBody body = outputStream -> {
+            long exported = 0;
+            try (Stream<Branch> branches = this.branchService.streamAll();
+                    SequenceWriter writer = this.objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                for (Branch branch : (Iterable<Branch>) branches::iterator) {
+                    writer.write(BranchMapper.mapToBranchRQRS(branch));
+                    if (++exported % EXPORT_FLUSH_SIZE == 0) {
+                        writer.flush();
+                    }
+                }
+                if (exported > 0) {
+                    // the separator only goes between values, NDJSON ends every line
+                    writer.flush();
+                    outputStream.write('\n');
+                }
+            }
+            log.info("Exported {} branches", exported);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{code}")
     public ResponseEntity<BranchRQRS> obtainByCode(@PathVariable(name = "code") String code) {
         log.info("Going to find branch by code: {}", code);
@@ -49,24 +143,64 @@ public class BranchController {
         }
     }
 
+    @PostMapping("/lookup")
+    public ResponseEntity<BranchLookupRS> lookup(@RequestBody List<String> codes) {
+        if (codes == null || codes.isEmpty() || codes.size() > MAX_LOOKUP_SIZE || codes.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Going to look up {} branches by code", codes.size());
+        List<Branch> branches = this.branchService.lookByCodes(codes);
+        BranchLookupRS lookup = BranchMapper.mapToBranchLookupRS(codes, branches);
+        log.info("Found {} branches, missing codes: {}", lookup.getFound().size(), lookup.getMissing());
+        return ResponseEntity.ok(lookup);
+    }
+
     @PostMapping
     public ResponseEntity create(@RequestBody BranchRQRS branch) {
         try {
-            log.info("Going to create a branch with info: {}", branch);
+            log.info("Going to create a branch with code: {}", branch.getCode());
             this.branchService.create(BranchMapper.mapToBranch(branch));
             return ResponseEntity.ok().build();
         } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
             log.error("Error at create branch: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BranchBulkRS> bulkCreate(InputStream body) {
+        try (MappingIterator<BranchRQRS> items = this.objectMapper.readerFor(BranchRQRS.class).readValues(body)) {
+            log.info("Going to create branches in bulk");
+            Iterator<Branch> branches = StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, 0), false)
+                    .map(BranchMapper::mapToBranch)
+                    .iterator();
+            return bulkResponse(BranchMapper.mapToBranchBulkRS(this.branchService.bulkCreate(branches)));
+        } catch (IOException | RuntimeException e) {
+            log.error("Error reading bulk branches: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 200 when every item was processed. Items before an unreadable one or an aborted chunk are
+     * created all the same, so the partial report goes with the 400 or 510 and says which.
+     */
+    static ResponseEntity<BranchBulkRS> bulkResponse(BranchBulkRS bulk) {
+        if (bulk.isComplete()) {
+            return ResponseEntity.ok(bulk);
+        }
+        BranchBulkItemRS last = bulk.getItems().get(bulk.getItems().size() - 1);
+        return ResponseEntity.status(BranchBulkResult.ABORTED.equals(last.getStatus()) ? BULK_ABORTED : 400).body(bulk);
+    }
+
     @PutMapping("/{code}")
     public  ResponseEntity<BranchRQRS> update(@PathVariable(name="code") String code, @RequestBody BranchRQRS branch) {
         try {
-            this.branchService.update(code, BranchMapper.mapToBranch(branch));
-            return ResponseEntity.ok(BranchMapper.mapToBranchRQRS(this.branchService.lookByCode(code)));
+            Branch updated = this.branchService.update(code, BranchMapper.mapToBranch(branch));
+            return ResponseEntity.ok(BranchMapper.mapToBranchRQRS(updated));
         } catch (CRUDException e){
+            CRUDExceptionMetrics.count(e);
             log.error("Error at update branch: {}", e.getMessage(), e);
             return ResponseEntity.status(e.getErrorCode()).build();
         }
@@ -0,0 +1,110 @@
+package com.banquito.core.branches.controller;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Header checks shared by the interceptors that answer before content negotiation runs.
+ */
+public final class ContentNegotiation {
+
+    public static final String CBOR = "cbor";
+    public static final String SMILE = "smile";
+    public static final String GZIP = "gzip";
+
+    public static final String WEAK_PREFIX = "W/";
+
+    private static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private ContentNegotiation() {
+    }
+
+    /**
+     * Binary format asked for in the Accept header, or null when the caller gets JSON.
+     */
+    public static String binaryFormat(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        if (accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return CBOR;
+        }
+        if (accept.contains(SMILE_VALUE)) {
+            return SMILE;
+        }
+        return null;
+    }
+
+    public static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank() || accept.equals(MediaType.ALL_VALUE)
+                || accept.equals(MediaType.APPLICATION_JSON_VALUE)) {
+            return true;
+        }
+        if (binaryFormat(accept) != null) {
+            return false;
+        }
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the Accept-Encoding header allows gzip: listed as gzip (or x-gzip) or covered by
+     * {@code *}, with a non-zero q-value.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(GZIP) || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality(parameters));
+            } else if (name.equals("*")) {
+                any = Math.max(any, quality(parameters));
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * ETag of another representation of the same version: {@code "tag"} becomes {@code "tag-variant"}
+     * and {@code W/"tag"} becomes {@code W/"tag-variant"}.
+     */
+    public static String variant(String etag, String variant) {
+        if (variant == null) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + variant + "\"";
+    }
+
+    /**
+     * Weak form of a strong ETag. Tomcat does not compress a response with a strong ETag, since the
+     * tag would then name two different byte sequences; a weak one leaves it free to do so.
+     */
+    public static String weak(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag : WEAK_PREFIX + etag;
+    }
+}
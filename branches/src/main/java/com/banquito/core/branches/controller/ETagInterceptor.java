@@ -0,0 +1,82 @@
+package com.banquito.core.branches.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.banquito.core.branches.config.HttpCacheValues;
+import com.banquito.core.branches.service.CollectionVersions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for the catalogue list endpoints. The ETag comes from the collection version, so
+ * a matching If-None-Match is answered with 304 before the controller runs: no repository call and
+ * no serialization. CBOR, Smile and gzip bodies get their own tag derived from the same version.
+ * Only the plain list written by {@link ListResponseCacheInterceptor}, which gzips its own bytes,
+ * gets a strong tag; pages, projections and binary formats get a weak one so Tomcat compresses them.
+ * Collections whose version does not follow the changes of every instance get no tag.
+ */
+public class ETagInterceptor implements HandlerInterceptor {
+
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final CollectionVersions versions;
+    private final HttpCacheValues httpCacheValues;
+    private final Map<String, String> collectionsByPath;
+
+    public ETagInterceptor(CollectionVersions versions, HttpCacheValues httpCacheValues,
+            Map<String, String> collectionsByPath) {
+        this.versions = versions;
+        this.httpCacheValues = httpCacheValues;
+        this.collectionsByPath = collectionsByPath;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String collection = this.collectionsByPath.get(request.getRequestURI());
+        if (collection == null || !this.versions.isTracked(collection)) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String etag = ContentNegotiation.variant(this.versions.etag(collection), ContentNegotiation.binaryFormat(accept));
+        if (!this.httpCacheValues.isListCacheEnabled() || request.getQueryString() != null
+                || !ContentNegotiation.acceptsJson(accept)) {
+            // not served (and gzipped) by the list cache: leave Tomcat free to compress it
+            etag = ContentNegotiation.weak(etag);
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, this.httpCacheValues.getCacheControl());
+        response.setHeader(HttpHeaders.VARY, VARY);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (matches(ifNoneMatch, etag) || matches(ifNoneMatch, ContentNegotiation.variant(etag, ContentNegotiation.GZIP))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // weak comparison, which is what If-None-Match uses
+    private static String opaque(String etag) {
+        return etag.startsWith(ContentNegotiation.WEAK_PREFIX) ? etag.substring(ContentNegotiation.WEAK_PREFIX.length()) : etag;
+    }
+}
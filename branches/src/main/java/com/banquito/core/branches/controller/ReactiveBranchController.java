@@ -0,0 +1,149 @@
+package com.banquito.core.branches.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banquito.core.branches.controller.dto.BranchBulkRS;
+import com.banquito.core.branches.controller.dto.BranchLookupRS;
+import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.dto.CursorPageRS;
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.controller.mapper.CursorMapper;
+import com.banquito.core.branches.controller.mapper.FieldsMapper;
+import com.banquito.core.branches.exception.CRUDException;
+import com.banquito.core.branches.exception.CRUDExceptionMetrics;
+import com.banquito.core.branches.service.ReactiveBranchService;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux version of {@link BranchController} for the "reactive" profile, same paths and payloads.
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/branches")
+public class ReactiveBranchController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_LOOKUP_SIZE = 500;
+    private static final Set<String> FIELDS = Set.of("id", "code", "name");
+
+    private final ReactiveBranchService branchService;
+
+    public ReactiveBranchController(ReactiveBranchService branchService) {
+        this.branchService = branchService;
+    }
+
+    @GetMapping
+    public Flux<BranchRQRS> obtainAll() {
+        log.info("Going to return all branches");
+        return this.branchService.getAll().map(BranchMapper::mapToBranchRQRS);
+    }
+
+    @GetMapping(params = { "fields", "!size" })
+    public Mono<ResponseEntity<List<Map<String, Object>>>> obtainAllFields(@RequestParam(name = "fields") String fields) {
+        List<String> attributes;
+        try {
+            attributes = FieldsMapper.parse(fields, FIELDS);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid branches fields: {}", fields);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return this.branchService.getAll(attributes)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<CursorPageRS<BranchRQRS>>> obtainPage(@RequestParam(name = "size") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        String afterId;
+        try {
+            afterId = CursorMapper.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid branches cursor: {}", cursor);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return this.branchService.getPage(afterId, size)
+                .collectList()
+                .map(branches -> ResponseEntity.ok(CursorPageRS.<BranchRQRS>builder()
+                    .items(BranchMapper.mapToList(branches))
+                    .size(branches.size())
+                    .nextCursor(branches.size() < size ? null : CursorMapper.encode(branches.get(branches.size() - 1).getId()))
+                    .build()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BranchRQRS> export() {
+        log.info("Going to export all branches");
+        return this.branchService.getAll().map(BranchMapper::mapToBranchRQRS);
+    }
+
+    @GetMapping("/{code}")
+    public Mono<ResponseEntity<BranchRQRS>> obtainByCode(@PathVariable(name = "code") String code) {
+        log.info("Going to find branch by code: {}", code);
+        return this.branchService.lookByCode(code)
+                .map(branch -> ResponseEntity.ok(BranchMapper.mapToBranchRQRS(branch)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<BranchLookupRS>> lookup(@RequestBody List<String> codes) {
+        if (codes == null || codes.isEmpty() || codes.size() > MAX_LOOKUP_SIZE || codes.contains(null)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        log.info("Going to look up {} branches by code", codes.size());
+        return this.branchService.lookByCodes(codes)
+                .collectList()
+                .map(branches -> ResponseEntity.ok(BranchMapper.mapToBranchLookupRS(codes, branches)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Mono<ResponseEntity<BranchBulkRS>> bulkCreate(@RequestBody Flux<BranchRQRS> body) {
+        log.info("Going to create branches in bulk");
+        return this.branchService.bulkCreate(body.map(BranchMapper::mapToBranch))
+                .map(results -> BranchController.bulkResponse(BranchMapper.mapToBranchBulkRS(results)));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Void>> create(@RequestBody BranchRQRS branch) {
+        log.info("Going to create a branch with code: {}", branch.getCode());
+        return this.branchService.create(BranchMapper.mapToBranch(branch))
+                .map(created -> ResponseEntity.ok().<Void>build())
+                .onErrorResume(CRUDException.class, e -> {
+                    CRUDExceptionMetrics.count(e);
+                    log.error("Error at create branch: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @PutMapping("/{code}")
+    public Mono<ResponseEntity<BranchRQRS>> update(@PathVariable(name = "code") String code, @RequestBody BranchRQRS branch) {
+        return this.branchService.update(code, BranchMapper.mapToBranch(branch))
+                .map(updated -> ResponseEntity.ok(BranchMapper.mapToBranchRQRS(updated)))
+                .onErrorResume(CRUDException.class, e -> {
+                    CRUDExceptionMetrics.count(e);
+                    log.error("Error at update branch: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(e.getErrorCode()).build());
+                });
+    }
+}
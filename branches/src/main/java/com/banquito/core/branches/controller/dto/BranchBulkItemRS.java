@@ -0,0 +1,15 @@
+package com.banquito.core.branches.controller.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BranchBulkItemRS {
+
+    private int index;
+    private String code;
+    private String status;
+    private String error;
+
+}
@@ -0,0 +1,19 @@
+package com.banquito.core.branches.controller.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BranchBulkRS {
+
+    private int created;
+    private int duplicated;
+    private int failed;
+    // false when the input stopped being readable or a chunk could not be inserted; the last items mark where
+    private boolean complete;
+    private List<BranchBulkItemRS> items;
+
+}
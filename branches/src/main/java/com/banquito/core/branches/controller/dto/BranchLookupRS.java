@@ -0,0 +1,15 @@
+package com.banquito.core.branches.controller.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BranchLookupRS {
+
+    private List<BranchRQRS> found;
+    private List<String> missing;
+
+}
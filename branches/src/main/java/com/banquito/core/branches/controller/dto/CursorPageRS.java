@@ -0,0 +1,16 @@
+package com.banquito.core.branches.controller.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CursorPageRS<T> {
+
+    private List<T> items;
+    private Integer size;
+    private String nextCursor;
+
+}
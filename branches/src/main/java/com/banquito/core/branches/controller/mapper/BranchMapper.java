@@ -1,10 +1,17 @@
 package com.banquito.core.branches.controller.mapper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
+import com.banquito.core.branches.controller.dto.BranchBulkItemRS;
+import com.banquito.core.branches.controller.dto.BranchBulkRS;
+import com.banquito.core.branches.controller.dto.BranchLookupRS;
 import com.banquito.core.branches.controller.dto.BranchRQRS;
 import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchBulkResult;
 
 public class BranchMapper {
     
@@ -32,4 +39,52 @@ public class BranchMapper {
         branch.setName(branchRQRS.getName());
         return branch;
     }
+
+    public static BranchLookupRS mapToBranchLookupRS(List<String> codes, List<Branch> branches) {
+        Map<String, Branch> byCode = new HashMap<>();
+        for (Branch branch : branches) {
+            byCode.put(branch.getCode(), branch);
+        }
+        List<BranchRQRS> found = new ArrayList<>(branches.size());
+        List<String> missing = new ArrayList<>();
+        for (String code : new LinkedHashSet<>(codes)) {
+            Branch branch = byCode.get(code);
+            if (branch != null) {
+                found.add(mapToBranchRQRS(branch));
+            } else {
+                missing.add(code);
+            }
+        }
+        return BranchLookupRS.builder()
+            .found(found)
+            .missing(missing).build();
+    }
+
+    public static BranchBulkRS mapToBranchBulkRS(List<BranchBulkResult> results) {
+        int created = 0;
+        int duplicated = 0;
+        boolean complete = true;
+        List<BranchBulkItemRS> items = new ArrayList<>(results.size());
+        for (BranchBulkResult result : results) {
+            if (BranchBulkResult.CREATED.equals(result.getStatus())) {
+                created++;
+            } else if (BranchBulkResult.DUPLICATED.equals(result.getStatus())) {
+                duplicated++;
+            } else if (BranchBulkResult.UNREADABLE.equals(result.getStatus())
+                    || BranchBulkResult.ABORTED.equals(result.getStatus())) {
+                complete = false;
+            }
+            items.add(BranchBulkItemRS.builder()
+                .index(result.getIndex())
+                .code(result.getCode())
+                .status(result.getStatus())
+                .error(result.getError()).build());
+        }
+        return BranchBulkRS.builder()
+            .created(created)
+            .duplicated(duplicated)
+            .failed(results.size() - created - duplicated)
+            .complete(complete)
+            .items(items).build();
+    }
 }
@@ -0,0 +1,24 @@
+package com.banquito.core.branches.controller.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last key of a page as an opaque cursor so clients cannot depend on its format.
+ */
+public class CursorMapper {
+
+    public static String encode(String lastKey) {
+        if (lastKey == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
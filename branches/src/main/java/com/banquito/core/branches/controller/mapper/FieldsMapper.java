@@ -0,0 +1,31 @@
+package com.banquito.core.branches.controller.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} query parameter of the list endpoints into the attributes to select,
+ * rejecting anything outside the fields the resource exposes.
+ */
+public class FieldsMapper {
+
+    public static List<String> parse(String fields, Set<String> allowed) {
+        List<String> attributes = new ArrayList<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String attribute = field.trim();
+                if (!allowed.contains(attribute)) {
+                    throw new IllegalArgumentException("Unknown field: " + attribute);
+                }
+                if (!attributes.contains(attribute)) {
+                    attributes.add(attribute);
+                }
+            }
+        }
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested");
+        }
+        return attributes;
+    }
+}
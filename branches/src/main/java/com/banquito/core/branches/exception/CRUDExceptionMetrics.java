@@ -0,0 +1,16 @@
+package com.banquito.core.branches.exception;
+
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Counts CRUD errors by error code on the global meter registry, which Spring Boot backs with the
+ * Prometheus registry (and which is a no-op in plain unit tests).
+ */
+public class CRUDExceptionMetrics {
+
+    public static final String METRIC_NAME = "crud.exceptions";
+
+    public static void count(CRUDException e) {
+        Metrics.counter(METRIC_NAME, "code", String.valueOf(e.getErrorCode())).increment();
+    }
+}
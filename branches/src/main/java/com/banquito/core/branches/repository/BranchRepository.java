@@ -1,5 +1,9 @@
 package com.banquito.core.branches.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.banquito.core.branches.model.Branch;
@@ -7,5 +11,10 @@ import com.banquito.core.branches.model.Branch;
 public interface BranchRepository extends MongoRepository<Branch, String>{
     
     Branch findByCode(String code);
-}
 
+    List<Branch> findByOrderByIdAsc(Pageable pageable);
+
+    List<Branch> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+
+    Stream<Branch> streamAllBy();
+}
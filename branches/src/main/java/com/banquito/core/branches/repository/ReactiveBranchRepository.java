@@ -0,0 +1,18 @@
+package com.banquito.core.branches.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.banquito.core.branches.model.Branch;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBranchRepository extends ReactiveMongoRepository<Branch, String> {
+
+    Mono<Branch> findByCode(String code);
+
+    Flux<Branch> findByOrderByIdAsc(Pageable pageable);
+
+    Flux<Branch> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.banquito.core.branches.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BranchBulkResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATED = "DUPLICATED";
+    public static final String FAILED = "FAILED";
+    // the item at this index could not be read; nothing after it was read
+    public static final String UNREADABLE = "UNREADABLE";
+    // the insert of this item's chunk failed as a whole, it may or may not be stored; nothing after it was read
+    public static final String ABORTED = "ABORTED";
+
+    private int index;
+    private String code;
+    private String status;
+    private String error;
+}
@@ -0,0 +1,255 @@
+package com.banquito.core.branches.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.branches.config.MongoValues;
+import com.banquito.core.branches.model.Branch;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory {@code code -> branch} map of the whole branches collection.
+ *
+ * A background thread opens a change stream on the collection, loads every branch and then applies
+ * each insert, update, replace and delete as it happens, whoever made it. The map is only live while
+ * the stream is open: until the first load and after any stream failure {@link #isLive()} is false
+ * and callers read from Mongo. A broken stream is resumed from its last token so no change is lost;
+ * when it cannot be resumed the map is loaded again. Writes of this instance are also put in the
+ * map directly, so a lookup right after them never waits for the stream. Cached branches are shared,
+ * callers must not modify them.
+ *
+ * Every applied change and every load bumps the branches collection version, which is tracked only
+ * while the map is live. A changed document that cannot be read as a branch is dropped from the map
+ * and skipped, so one bad document does not stop the stream.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class BranchCache implements SmartLifecycle {
+
+    // ChangeStreamHistoryLost: the resume token is no longer in the oplog
+    private static final int HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final CollectionVersions versions;
+    private final Counter unreadable;
+    private final boolean enabled;
+    private final Duration retryInterval;
+    private final Map<String, Branch> byCode = new ConcurrentHashMap<>();
+    private final Map<String, String> codeById = new ConcurrentHashMap<>();
+
+    private volatile boolean live;
+    private volatile boolean running;
+    private Thread follower;
+
+    public BranchCache(MongoTemplate mongoTemplate, MongoValues mongoValues, MeterRegistry meterRegistry,
+            CollectionVersions versions) {
+        this.mongoTemplate = mongoTemplate;
+        this.versions = versions;
+        this.unreadable = meterRegistry.counter("branches.cache.unreadable");
+        this.enabled = mongoValues.isBranchCacheEnabled();
+        this.retryInterval = mongoValues.getChangeStreamRetryInterval();
+        Gauge.builder("branches.cache.size", this.byCode, Map::size).register(meterRegistry);
+        Gauge.builder("branches.cache.live", this, cache -> cache.isLive() ? 1 : 0).register(meterRegistry);
+    }
+
+    public boolean isLive() {
+        return this.live;
+    }
+
+    public Branch get(String code) {
+        return this.byCode.get(code);
+    }
+
+    public List<Branch> getAll(Collection<String> codes) {
+        List<Branch> branches = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            Branch branch = this.byCode.get(code);
+            if (branch != null) {
+                branches.add(branch);
+            }
+        }
+        return branches;
+    }
+
+    public int size() {
+        return this.byCode.size();
+    }
+
+    public void put(Branch branch) {
+        if (branch.getId() != null) {
+            String previous = this.codeById.put(branch.getId(), branch.getCode());
+            if (previous != null && !previous.equals(branch.getCode())) {
+                this.byCode.remove(previous);
+            }
+        }
+        this.byCode.put(branch.getCode(), branch);
+    }
+
+    public void remove(String id) {
+        String code = this.codeById.remove(id);
+        if (code != null) {
+            this.byCode.remove(code);
+        }
+    }
+
+    void load(List<Branch> branches) {
+        this.byCode.clear();
+        this.codeById.clear();
+        for (Branch branch : branches) {
+            this.put(branch);
+        }
+        this.versions.bump(CollectionVersions.BRANCHES);
+    }
+
+    void apply(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT:
+            case UPDATE:
+            case REPLACE:
+                Branch branch = change.getFullDocument() == null ? null : this.read(change);
+                if (branch != null) {
+                    this.put(branch);
+                } else {
+                    // deleted before the update was looked up (its delete event follows), or unreadable
+                    this.remove(id(change.getDocumentKey()));
+                }
+                this.versions.bump(CollectionVersions.BRANCHES);
+                break;
+            case DELETE:
+                this.remove(id(change.getDocumentKey()));
+                this.versions.bump(CollectionVersions.BRANCHES);
+                break;
+            case DROP:
+            case RENAME:
+            case DROP_DATABASE:
+            case INVALIDATE:
+                throw new IllegalStateException("Branch change stream invalidated by " + change.getOperationType());
+            default:
+                break;
+        }
+    }
+
+    private Branch read(ChangeStreamDocument<Document> change) {
+        try {
+            return this.mongoTemplate.getConverter().read(Branch.class, change.getFullDocument());
+        } catch (RuntimeException e) {
+            this.unreadable.increment();
+            log.error("Branch {} cannot be read from its change, dropped from the cache: {}",
+                    id(change.getDocumentKey()), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String id(BsonDocument documentKey) {
+        BsonValue id = documentKey.get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    @Override
+    public void start() {
+        if (!this.enabled) {
+            log.info("Branch cache disabled, lookups by code go to Mongo");
+            return;
+        }
+        this.running = true;
+        this.follower = new Thread(this::follow, "branch-cache-stream");
+        this.follower.setDaemon(true);
+        this.follower.start();
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        this.setLive(false);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void follow() {
+        BsonDocument resumeToken = null;
+        boolean failing = false;
+        while (this.running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = this.open(resumeToken)) {
+                if (resumeToken == null) {
+                    this.load(this.mongoTemplate.findAll(Branch.class));
+                }
+                this.setLive(true);
+                failing = false;
+                log.info("Branch cache live with {} branches", this.byCode.size());
+                while (this.running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        this.apply(change);
+                    }
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                }
+            } catch (RuntimeException e) {
+                this.setLive(false);
+                if (e instanceof IllegalStateException
+                        || (e instanceof MongoCommandException && ((MongoCommandException) e).getErrorCode() == HISTORY_LOST)) {
+                    resumeToken = null;
+                }
+                if (!failing) {
+                    log.warn("Branch change stream unavailable, lookups by code go to Mongo: {}", e.getMessage());
+                    failing = true;
+                } else {
+                    log.debug("Branch change stream still unavailable: {}", e.getMessage());
+                }
+                if (!this.pause()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void setLive(boolean live) {
+        this.live = live;
+        this.versions.setTracked(CollectionVersions.BRANCHES, live);
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(BsonDocument resumeToken) {
+        ChangeStreamIterable<Document> stream = this.mongoTemplate.getCollection(this.mongoTemplate.getCollectionName(Branch.class))
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        return (resumeToken == null ? stream : stream.resumeAfter(resumeToken)).cursor();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(this.retryInterval.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,25 +1,70 @@
 package com.banquito.core.branches.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.banquito.core.branches.config.BulkValues;
+import com.banquito.core.branches.config.MongoValues;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
 import com.banquito.core.branches.repository.BranchRepository;
 
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Profile("!reactive")
 public class BranchService {
 
+    static final int DUPLICATE_KEY = 11000;
+    private static final String ID = "id";
+    private static final String MONGO_ID = "_id";
+
     private final BranchRepository branchRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BulkValues bulkValues;
+    private final CollectionVersions versions;
+    private final BranchCache cache;
+    private final ReadPreference lookupReadPreference;
+    private final Duration lookupTimeout;
 
-    public BranchService(BranchRepository branchRepository) {
+    public BranchService(BranchRepository branchRepository, MongoTemplate mongoTemplate, BulkValues bulkValues,
+            CollectionVersions versions, MongoValues mongoValues, BranchCache cache) {
         this.branchRepository = branchRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.bulkValues = bulkValues;
+        this.versions = versions;
+        this.cache = cache;
+        this.lookupReadPreference = mongoValues.getLookupReadPreference() == null ? null
+                : ReadPreference.valueOf(mongoValues.getLookupReadPreference());
+        this.lookupTimeout = mongoValues.getCommandTimeout();
     }
 
     public Branch lookById(String id) throws CRUDException {
@@ -33,39 +78,197 @@ public class BranchService {
 
     public Branch lookByCode(String code) {
         log.info("looking branch with code {}", code);
-        Branch branch = this.branchRepository.findByCode(code);
+        if (this.cache.isLive()) {
+            return this.cache.get(code);
+        }
+        Branch branch = this.mongoTemplate.findOne(this.lookupQuery(Criteria.where("code").is(code)), Branch.class);
         log.debug("Branch info for code {} -> {}", code, branch);
         return branch;
     }
 
+    public List<Branch> lookByCodes(Collection<String> codes) {
+        Collection<String> distinct = new LinkedHashSet<>(codes);
+        log.info("Looking {} branches by code", distinct.size());
+        if (this.cache.isLive()) {
+            return this.cache.getAll(distinct);
+        }
+        List<Branch> branches = this.mongoTemplate.find(this.lookupQuery(Criteria.where("code").in(distinct)), Branch.class);
+        log.debug("Found {} of {} branches by code", branches.size(), distinct.size());
+        return branches;
+    }
+
+    /**
+     * Lookups by code may be served by a secondary and are bounded on the server, as configured in
+     * mongo.lookup-read-preference and mongo.command-timeout.
+     */
+    private Query lookupQuery(Criteria criteria) {
+        Query query = Query.query(criteria);
+        if (this.lookupReadPreference != null) {
+            query.withReadPreference(this.lookupReadPreference);
+        }
+        if (this.lookupTimeout != null && !this.lookupTimeout.isZero()) {
+            query.maxTime(this.lookupTimeout);
+        }
+        return query;
+    }
+
     public List<Branch> getAll() {
         log.info("Going to return all braches");
         return this.branchRepository.findAll();
     }
 
+    public List<Map<String, Object>> getAll(List<String> fields) {
+        log.info("Going to return fields {} of all branches", fields);
+        List<Document> documents = this.mongoTemplate.find(fieldsQuery(fields), Document.class,
+                this.mongoTemplate.getCollectionName(Branch.class));
+        List<Map<String, Object>> branches = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            branches.add(fieldsOf(document, fields));
+        }
+        return branches;
+    }
+
+    /**
+     * Query reading only the requested fields, {@code id} being the Mongo {@code _id}.
+     */
+    static Query fieldsQuery(List<String> fields) {
+        Query query = new Query();
+        for (String field : fields) {
+            query.fields().include(ID.equals(field) ? MONGO_ID : field);
+        }
+        if (!fields.contains(ID)) {
+            query.fields().exclude(MONGO_ID);
+        }
+        return query;
+    }
+
+    static Map<String, Object> fieldsOf(Document document, List<String> fields) {
+        Map<String, Object> branch = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = document.get(ID.equals(field) ? MONGO_ID : field);
+            branch.put(field, value instanceof ObjectId ? value.toString() : value);
+        }
+        return branch;
+    }
+
+    public Stream<Branch> streamAll() {
+        log.info("Going to stream all branches");
+        return this.branchRepository.streamAllBy();
+    }
+
+    public List<Branch> getPage(String afterId, int size) {
+        log.info("Going to return {} branches after id: {}", size, afterId);
+        PageRequest page = PageRequest.of(0, size);
+        if (afterId == null) {
+            return this.branchRepository.findByOrderByIdAsc(page);
+        }
+        return this.branchRepository.findByIdGreaterThanOrderByIdAsc(afterId, page);
+    }
+
     public void create(Branch branch) throws CRUDException {
         try {
             log.info("Creating branch with code: {}", branch.getCode());
             log.debug("Creating branch with the following info: {}", branch);
             this.branchRepository.save(branch);
+            this.cache.put(branch);
+            this.versions.bump(CollectionVersions.BRANCHES);
         } catch (Exception e) {
             log.error("Error in branch creation: {}, with data: {}", e.getMessage(), branch);
             throw new CRUDException(510, "Branch cannot be created, error:" + e.getMessage(), e);
         }
     }
 
-    public void update(String code, Branch branch) throws CRUDException {
+    public List<BranchBulkResult> bulkCreate(Iterator<Branch> branches) {
+        int chunkSize = this.bulkValues.getChunkSize();
+        List<BranchBulkResult> results = new ArrayList<>();
+        List<Branch> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            try {
+                if (!branches.hasNext()) {
+                    break;
+                }
+                chunk.add(branches.next());
+            } catch (RuntimeException e) {
+                // the input cannot be resynchronised after a malformed item: keep what was read before it
+                if (!chunk.isEmpty() && !this.insertChunk(chunk, results)) {
+                    return results;
+                }
+                log.warn("Bulk creation stopped at unreadable branch {}: {}", results.size(), e.getMessage());
+                results.add(new BranchBulkResult(results.size(), null, BranchBulkResult.UNREADABLE, e.getMessage()));
+                return results;
+            }
+            if (chunk.size() == chunkSize) {
+                if (!this.insertChunk(chunk, results)) {
+                    return results;
+                }
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty() && !this.insertChunk(chunk, results)) {
+            return results;
+        }
+        log.info("Bulk creation processed {} branches", results.size());
+        return results;
+    }
+
+    /**
+     * Inserts a chunk and reports each of its items. False when the insert failed as a whole: the
+     * items are reported as aborted and the caller stops, the chunks before stay created.
+     */
+    private boolean insertChunk(List<Branch> chunk, List<BranchBulkResult> results) {
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            BulkOperations operations = this.mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class);
+            operations.insert(chunk);
+            operations.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error);
+            }
+        } catch (Exception e) {
+            log.error("Bulk branch creation aborted after {} branches: {}", results.size(), e.getMessage());
+            int offset = results.size();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(new BranchBulkResult(offset + i, chunk.get(i).getCode(), BranchBulkResult.ABORTED, e.getMessage()));
+            }
+            return false;
+        } finally {
+            this.versions.bump(CollectionVersions.BRANCHES);
+        }
+        int offset = results.size();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkWriteError error = errors.get(i);
+            if (error == null) {
+                this.cache.put(chunk.get(i));
+                results.add(new BranchBulkResult(offset + i, chunk.get(i).getCode(), BranchBulkResult.CREATED, null));
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                results.add(new BranchBulkResult(offset + i, chunk.get(i).getCode(), BranchBulkResult.DUPLICATED, error.getMessage()));
+            } else {
+                results.add(new BranchBulkResult(offset + i, chunk.get(i).getCode(), BranchBulkResult.FAILED, error.getMessage()));
+            }
+        }
+        return true;
+    }
+
+    public Branch update(String code, Branch branch) throws CRUDException {
         
         try {
             log.info("Going to update branch with code: {} ", code);
             log.debug("Going to update branch with code: {} with the following data {}", code, branch);
-            Branch branchTmp = this.branchRepository.findByCode(code);
+            Branch branchTmp = this.mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("code").is(code)),
+                    new Update().set("name", branch.getName()),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Branch.class);
             if (branchTmp==null) {
                 throw new CRUDException(404, "Branch with code: {"+code+"} does not exist");
             }
-            branchTmp.setName(branch.getName());
-            this.branchRepository.save(branchTmp);
+            this.cache.put(branchTmp);
+            this.versions.bump(CollectionVersions.BRANCHES);
             log.debug("Branch with id: {} and code: {} has been updated with the following info {}", branchTmp.getId(), branchTmp.getCode(), branchTmp);
+            return branchTmp;
+        } catch (CRUDException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error when try to update branch: {}, with the following info: {}", e.getMessage(), branch);
             throw new CRUDException(520, "Branch cannot be updated, error:" + e.getMessage(), e);
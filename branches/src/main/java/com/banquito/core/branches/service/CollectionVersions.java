@@ -0,0 +1,55 @@
+package com.banquito.core.branches.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Version counter per collection, used to build strong ETags and to key the cached list bodies.
+ *
+ * The counter is bumped by the writes of this instance and, while a collection is tracked, by the
+ * follower of its change stream for every change whoever makes it. Only a tracked version can be
+ * trusted with several instances, so the list endpoints serve ETags and cached bodies only then.
+ * The tag carries the instance start time, so a tag of another instance or of before a restart
+ * never matches.
+ */
+@Component
+public class CollectionVersions {
+
+    public static final String BRANCHES = "branches";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Set<String> tracked = ConcurrentHashMap.newKeySet();
+
+    public void bump(String collection) {
+        counter(collection).incrementAndGet();
+    }
+
+    public void setTracked(String collection, boolean tracked) {
+        if (tracked) {
+            this.tracked.add(collection);
+        } else {
+            this.tracked.remove(collection);
+        }
+    }
+
+    public boolean isTracked(String collection) {
+        return this.tracked.contains(collection);
+    }
+
+    public long getVersion(String collection) {
+        return counter(collection).get();
+    }
+
+    public String etag(String collection) {
+        return "\"" + collection + "-" + this.epoch + "-" + getVersion(collection) + "\"";
+    }
+
+    private AtomicLong counter(String collection) {
+        return this.versions.computeIfAbsent(collection, name -> new AtomicLong());
+    }
+}
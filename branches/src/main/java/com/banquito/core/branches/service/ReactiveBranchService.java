@@ -0,0 +1,185 @@
+package com.banquito.core.branches.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.banquito.core.branches.config.BulkValues;
+import com.banquito.core.branches.exception.CRUDException;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.repository.ReactiveBranchRepository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveBranchService {
+
+    private final ReactiveBranchRepository branchRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final BulkValues bulkValues;
+
+    public ReactiveBranchService(ReactiveBranchRepository branchRepository, ReactiveMongoTemplate mongoTemplate,
+            BulkValues bulkValues) {
+        this.branchRepository = branchRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.bulkValues = bulkValues;
+    }
+
+    public Mono<Branch> lookByCode(String code) {
+        log.info("looking branch with code {}", code);
+        return this.branchRepository.findByCode(code);
+    }
+
+    public Flux<Branch> lookByCodes(Collection<String> codes) {
+        Collection<String> distinct = new LinkedHashSet<>(codes);
+        log.info("Looking {} branches by code", distinct.size());
+        return this.mongoTemplate.find(Query.query(Criteria.where("code").in(distinct)), Branch.class);
+    }
+
+    public Flux<Branch> getAll() {
+        log.info("Going to return all braches");
+        return this.branchRepository.findAll();
+    }
+
+    public Flux<Map<String, Object>> getAll(List<String> fields) {
+        log.info("Going to return fields {} of all branches", fields);
+        return this.mongoTemplate.find(BranchService.fieldsQuery(fields), Document.class,
+                    this.mongoTemplate.getCollectionName(Branch.class))
+                .map(document -> BranchService.fieldsOf(document, fields));
+    }
+
+    public Flux<Branch> getPage(String afterId, int size) {
+        log.info("Going to return {} branches after id: {}", size, afterId);
+        PageRequest page = PageRequest.of(0, size);
+        if (afterId == null) {
+            return this.branchRepository.findByOrderByIdAsc(page);
+        }
+        return this.branchRepository.findByIdGreaterThanOrderByIdAsc(afterId, page);
+    }
+
+    public Mono<Branch> create(Branch branch) {
+        log.info("Creating branch with code: {}", branch.getCode());
+        return this.branchRepository.save(branch)
+                .onErrorMap(e -> {
+                    log.error("Error in branch creation: {}, with data: {}", e.getMessage(), branch);
+                    return new CRUDException(510, "Branch cannot be created, error:" + e.getMessage(), e);
+                });
+    }
+
+    public Mono<Branch> update(String code, Branch branch) {
+        log.info("Going to update branch with code: {} ", code);
+        return this.mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("code").is(code)),
+                    new Update().set("name", branch.getName()),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Branch.class)
+                .switchIfEmpty(Mono.error(() -> new CRUDException(404, "Branch with code: {"+code+"} does not exist")))
+                .onErrorMap(e -> !(e instanceof CRUDException), e -> {
+                    log.error("Error when try to update branch: {}, with the following info: {}", e.getMessage(), branch);
+                    return new CRUDException(520, "Branch cannot be updated, error:" + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * Same report as {@link BranchService#bulkCreate}: branches are inserted in chunks as they are
+     * read, a chunk that fails as a whole is reported as aborted and stops the run, and an input
+     * error is reported as an unreadable item after the branches read before it.
+     */
+    public Mono<List<BranchBulkResult>> bulkCreate(Flux<Branch> branches) {
+        List<BranchBulkResult> results = new ArrayList<>();
+        AtomicReference<Throwable> unreadable = new AtomicReference<>();
+        return branches
+                .onErrorResume(e -> {
+                    // the input cannot be resynchronised after a malformed item: keep what was read before it
+                    unreadable.set(e);
+                    return Flux.empty();
+                })
+                .buffer(this.bulkValues.getChunkSize())
+                .concatMap(chunk -> this.insertChunk(chunk, results))
+                .takeUntil(inserted -> !inserted)
+                .all(inserted -> inserted)
+                .map(inserted -> {
+                    Throwable e = unreadable.get();
+                    // an aborted chunk ends the report even when the input broke right after it
+                    if (inserted && e != null) {
+                        log.warn("Bulk creation stopped at unreadable branch {}: {}", results.size(), e.getMessage());
+                        results.add(new BranchBulkResult(results.size(), null, BranchBulkResult.UNREADABLE, e.getMessage()));
+                    }
+                    log.info("Bulk creation processed {} branches", results.size());
+                    return results;
+                });
+    }
+
+    private Mono<Boolean> insertChunk(List<Branch> chunk, List<BranchBulkResult> results) {
+        return this.mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)
+                .insert(chunk)
+                .execute()
+                .<Map<Integer, BulkWriteError>>map(result -> new HashMap<>())
+                .onErrorResume(e -> writeErrors(e) != null, e -> {
+                    Map<Integer, BulkWriteError> errors = new HashMap<>();
+                    for (BulkWriteError error : writeErrors(e)) {
+                        errors.put(error.getIndex(), error);
+                    }
+                    return Mono.just(errors);
+                })
+                .map(errors -> {
+                    int offset = results.size();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        BulkWriteError error = errors.get(i);
+                        String code = chunk.get(i).getCode();
+                        if (error == null) {
+                            results.add(new BranchBulkResult(offset + i, code, BranchBulkResult.CREATED, null));
+                        } else if (error.getCode() == BranchService.DUPLICATE_KEY) {
+                            results.add(new BranchBulkResult(offset + i, code, BranchBulkResult.DUPLICATED, error.getMessage()));
+                        } else {
+                            results.add(new BranchBulkResult(offset + i, code, BranchBulkResult.FAILED, error.getMessage()));
+                        }
+                    }
+                    return true;
+                })
+                .onErrorResume(e -> {
+                    log.error("Bulk branch creation aborted after {} branches: {}", results.size(), e.getMessage());
+                    int offset = results.size();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        results.add(new BranchBulkResult(offset + i, chunk.get(i).getCode(), BranchBulkResult.ABORTED, e.getMessage()));
+                    }
+                    return Mono.just(false);
+                });
+    }
+
+    // per-item errors of a bulk write, possibly translated (duplicate keys become a DuplicateKeyException)
+    private static List<BulkWriteError> writeErrors(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException) {
+                return ((BulkOperationException) cause).getErrors();
+            }
+            if (cause instanceof MongoBulkWriteException) {
+                return ((MongoBulkWriteException) cause).getWriteErrors();
+            }
+        }
+        return null;
+    }
+}
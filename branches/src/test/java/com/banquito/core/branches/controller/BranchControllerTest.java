@@ -2,16 +2,27 @@ package com.banquito.core.branches.controller;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
+import com.banquito.core.branches.controller.dto.BranchBulkRS;
+import com.banquito.core.branches.controller.dto.BranchLookupRS;
 import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.dto.CursorPageRS;
 import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.controller.mapper.CursorMapper;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchBulkResult;
 import com.banquito.core.branches.service.BranchService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +34,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class BranchControllerTest {
 
@@ -57,6 +72,149 @@ public class BranchControllerTest {
         Assertions.assertEquals("Branch 2", response.getBody().get(1).getName());
     }
 
+    @Test
+    public void testObtainPage() {
+        Branch branch = new Branch();
+        branch.setId("64a000000000000000000001");
+        branch.setCode("001");
+        Branch branch2 = new Branch();
+        branch2.setId("64a000000000000000000002");
+        branch2.setCode("002");
+        when(branchService.getPage(null, 2)).thenReturn(Arrays.asList(branch, branch2));
+
+        ResponseEntity<CursorPageRS<BranchRQRS>> response = branchController.obtainPage(2, null);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(2, response.getBody().getItems().size());
+        Assertions.assertEquals(branch2.getId(), CursorMapper.decode(response.getBody().getNextCursor()));
+    }
+
+    @Test
+    public void testObtainLastPage() {
+        Branch branch = new Branch();
+        branch.setId("64a000000000000000000003");
+        String cursor = CursorMapper.encode("64a000000000000000000002");
+        when(branchService.getPage("64a000000000000000000002", 2)).thenReturn(Arrays.asList(branch));
+
+        ResponseEntity<CursorPageRS<BranchRQRS>> response = branchController.obtainPage(2, cursor);
+
+        Assertions.assertEquals(1, response.getBody().getItems().size());
+        Assertions.assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    public void testObtainPageInvalidSize() {
+        ResponseEntity<CursorPageRS<BranchRQRS>> response = branchController.obtainPage(0, null);
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(branchService);
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        Branch branch = new Branch();
+        branch.setCode("001");
+        branch.setName("Branch 1");
+        Branch branch2 = new Branch();
+        branch2.setCode("002");
+        branch2.setName("Branch 2");
+        when(branchService.streamAll()).thenReturn(Stream.of(branch, branch2));
+        BranchController controller = new BranchController(branchService, new ObjectMapper());
+
+        ResponseEntity<StreamingResponseBody> response = controller.export();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        Assertions.assertEquals("{\"id\":null,\"code\":\"001\",\"name\":\"Branch 1\"}\n"
+                + "{\"id\":null,\"code\":\"002\",\"name\":\"Branch 2\"}\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExportWithoutBranchesIsEmpty() throws Exception {
+        when(branchService.streamAll()).thenReturn(Stream.empty());
+        BranchController controller = new BranchController(branchService, new ObjectMapper());
+
+        ResponseEntity<StreamingResponseBody> response = controller.export();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        Assertions.assertEquals(0, output.size());
+    }
+
+    @Test
+    public void testBulkCreateFromNdjson() throws CRUDException {
+        String body = "{\"code\":\"001\",\"name\":\"Branch 1\"}\n{\"code\":\"002\",\"name\":\"Branch 2\"}\n";
+        when(branchService.bulkCreate(any())).thenAnswer(invocation -> {
+            Iterator<Branch> branches = invocation.getArgument(0);
+            List<BranchBulkResult> results = new ArrayList<>();
+            while (branches.hasNext()) {
+                Branch branch = branches.next();
+                String status = "002".equals(branch.getCode()) ? BranchBulkResult.DUPLICATED : BranchBulkResult.CREATED;
+                results.add(new BranchBulkResult(results.size(), branch.getCode(), status, null));
+            }
+            return results;
+        });
+        BranchController controller = new BranchController(branchService, Jackson2ObjectMapperBuilder.json().build());
+
+        ResponseEntity<BranchBulkRS> response = controller.bulkCreate(new ByteArrayInputStream(body.getBytes()));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(1, response.getBody().getCreated());
+        Assertions.assertEquals(1, response.getBody().getDuplicated());
+        Assertions.assertTrue(response.getBody().isComplete());
+        Assertions.assertEquals("002", response.getBody().getItems().get(1).getCode());
+    }
+
+    @Test
+    public void testBulkCreateWithUnreadableLineReturnsPartialResult() throws CRUDException {
+        String body = "{\"code\":\"001\",\"name\":\"Branch 1\"}\n{\"code\":\"002\",}\n";
+        when(branchService.bulkCreate(any())).thenReturn(Arrays.asList(
+                new BranchBulkResult(0, "001", BranchBulkResult.CREATED, null),
+                new BranchBulkResult(1, null, BranchBulkResult.UNREADABLE, "Unexpected character")));
+        BranchController controller = new BranchController(branchService, Jackson2ObjectMapperBuilder.json().build());
+
+        ResponseEntity<BranchBulkRS> response = controller.bulkCreate(new ByteArrayInputStream(body.getBytes()));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertFalse(response.getBody().isComplete());
+        Assertions.assertEquals(1, response.getBody().getCreated());
+        Assertions.assertEquals(BranchBulkResult.UNREADABLE, response.getBody().getItems().get(1).getStatus());
+    }
+
+    @Test
+    public void testBulkCreateWithAbortedChunkReturnsPartialResult() {
+        String body = "{\"code\":\"001\",\"name\":\"Branch 1\"}\n{\"code\":\"002\",\"name\":\"Branch 2\"}\n";
+        when(branchService.bulkCreate(any())).thenReturn(Arrays.asList(
+                new BranchBulkResult(0, "001", BranchBulkResult.CREATED, null),
+                new BranchBulkResult(1, "002", BranchBulkResult.ABORTED, "Timed out waiting for a server")));
+        BranchController controller = new BranchController(branchService, Jackson2ObjectMapperBuilder.json().build());
+
+        ResponseEntity<BranchBulkRS> response = controller.bulkCreate(new ByteArrayInputStream(body.getBytes()));
+
+        Assertions.assertEquals(510, response.getStatusCode().value());
+        Assertions.assertFalse(response.getBody().isComplete());
+        Assertions.assertEquals(1, response.getBody().getCreated());
+        Assertions.assertEquals(1, response.getBody().getFailed());
+    }
+
+    @Test
+    public void testBulkCreateFromJsonArray() throws CRUDException {
+        String body = "[{\"code\":\"001\",\"name\":\"Branch 1\"},{\"code\":\"002\",\"name\":\"Branch 2\"}]";
+        when(branchService.bulkCreate(any())).thenAnswer(invocation -> {
+            Iterator<Branch> branches = invocation.getArgument(0);
+            List<BranchBulkResult> results = new ArrayList<>();
+            branches.forEachRemaining(branch -> results.add(
+                    new BranchBulkResult(results.size(), branch.getCode(), BranchBulkResult.CREATED, null)));
+            return results;
+        });
+        BranchController controller = new BranchController(branchService, Jackson2ObjectMapperBuilder.json().build());
+
+        ResponseEntity<BranchBulkRS> response = controller.bulkCreate(new ByteArrayInputStream(body.getBytes()));
+
+        Assertions.assertEquals(2, response.getBody().getCreated());
+        Assertions.assertEquals(0, response.getBody().getFailed());
+    }
+
     @Test
     public void testObtainByCode() {
         String code = "BR001";
@@ -85,6 +243,34 @@ public class BranchControllerTest {
         Assertions.assertNull(response.getBody());
     }
 
+    @Test
+    public void testLookupReportsMissingCodesInRequestOrder() {
+        List<String> codes = Arrays.asList("BR003", "BR001", "BR002", "BR001");
+        Branch first = new Branch();
+        first.setCode("BR001");
+        first.setName("Branch 1");
+        Branch third = new Branch();
+        third.setCode("BR003");
+        third.setName("Branch 3");
+        when(branchService.lookByCodes(codes)).thenReturn(Arrays.asList(first, third));
+
+        ResponseEntity<BranchLookupRS> response = branchController.lookup(codes);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(Arrays.asList("BR003", "BR001"),
+                response.getBody().getFound().stream().map(BranchRQRS::getCode).toList());
+        Assertions.assertEquals(List.of("BR002"), response.getBody().getMissing());
+        verify(branchService, times(1)).lookByCodes(codes);
+    }
+
+    @Test
+    public void testLookupRejectsEmptyRequest() {
+        ResponseEntity<BranchLookupRS> response = branchController.lookup(List.of());
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(branchService);
+    }
+
     @Mock
     private ResponseEntity<BranchRQRS> responseEntity;
 
@@ -99,9 +285,8 @@ public class BranchControllerTest {
         BranchRQRS branchRQRS = BranchRQRS.builder().id("12").code(code).name("Branch 1").build();
         //set test data in branchRQRS and branch objects
 
-        when(branchService.lookByCode(code)).thenReturn(branch);
-//        when update returns void
-        doNothing().when(branchService).update(code,branch);
+//        update returns the persisted branch, no second lookup is needed
+        when(branchService.update(eq(code), any(Branch.class))).thenReturn(branch);
         when(responseEntity.getStatusCode()).thenReturn(HttpStatus.OK);
         when(responseEntity.getBody()).thenReturn(branchRQRS);
 
@@ -109,6 +294,9 @@ public class BranchControllerTest {
         ResponseEntity<BranchRQRS> result = branchController.update(code, branchRQRS);
         assertNotNull(result);
         assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("Branch 1", result.getBody().getName());
+        verify(branchService, times(1)).update(eq(code), any(Branch.class));
+        verify(branchService, never()).lookByCode(code);
     }
 
 
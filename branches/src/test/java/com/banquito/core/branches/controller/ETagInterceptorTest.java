@@ -0,0 +1,136 @@
+package com.banquito.core.branches.controller;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.banquito.core.branches.config.HttpCacheValues;
+import com.banquito.core.branches.service.CollectionVersions;
+
+public class ETagInterceptorTest {
+
+    private static final String PATH = "/api/v1/branches";
+
+    private CollectionVersions versions;
+    private ETagInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        versions = new CollectionVersions();
+        versions.setTracked(CollectionVersions.BRANCHES, true);
+        HttpCacheValues httpCacheValues = new HttpCacheValues();
+        httpCacheValues.setCacheControl("max-age=0, must-revalidate");
+        interceptor = new ETagInterceptor(versions, httpCacheValues, Map.of(PATH, CollectionVersions.BRANCHES));
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, boolean expectedToProceed) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Assertions.assertEquals(expectedToProceed, interceptor.preHandle(request, response, new Object()));
+        return response;
+    }
+
+    @Test
+    public void testFirstRequestGetsETagAndCacheControl() {
+        MockHttpServletResponse response = get(null, true);
+
+        Assertions.assertEquals(versions.etag(CollectionVersions.BRANCHES), response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("max-age=0, must-revalidate", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    public void testUnchangedCollectionIsNotModified() {
+        String etag = get(null, true).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = get("\"other\", W/" + etag, false);
+
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testWriteChangesETag() {
+        String etag = get(null, true).getHeader(HttpHeaders.ETAG);
+        versions.bump(CollectionVersions.BRANCHES);
+
+        MockHttpServletResponse response = get(etag, true);
+
+        Assertions.assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testBinaryRepresentationsHaveTheirOwnETag() {
+        String json = get(null, true).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, json);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Assertions.assertTrue(interceptor.preHandle(request, response, new Object()));
+        Assertions.assertNotEquals(json, response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("Accept, Accept-Encoding", response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    public void testPagesAndBinaryFormatsGetWeakETags() {
+        String plain = get(null, true).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest page = new MockHttpServletRequest("GET", PATH);
+        page.setQueryString("size=10");
+        MockHttpServletResponse pageResponse = new MockHttpServletResponse();
+        MockHttpServletRequest cbor = new MockHttpServletRequest("GET", PATH);
+        cbor.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        MockHttpServletResponse cborResponse = new MockHttpServletResponse();
+
+        Assertions.assertTrue(interceptor.preHandle(page, pageResponse, new Object()));
+        Assertions.assertTrue(interceptor.preHandle(cbor, cborResponse, new Object()));
+
+        Assertions.assertFalse(plain.startsWith("W/"));
+        Assertions.assertEquals("W/" + plain, pageResponse.getHeader(HttpHeaders.ETAG));
+        Assertions.assertTrue(cborResponse.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+    }
+
+    @Test
+    public void testWeakETagIsNotModified() {
+        MockHttpServletRequest page = new MockHttpServletRequest("GET", PATH);
+        page.setQueryString("size=10");
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(page, first, new Object());
+        page.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        Assertions.assertFalse(interceptor.preHandle(page, second, new Object()));
+        Assertions.assertEquals(304, second.getStatus());
+    }
+
+    @Test
+    public void testGzipETagIsNotModified() {
+        String gzip = ContentNegotiation.variant(get(null, true).getHeader(HttpHeaders.ETAG), ContentNegotiation.GZIP);
+
+        Assertions.assertEquals(304, get(gzip, false).getStatus());
+    }
+
+    @Test
+    public void testOtherMethodsAndPathsAreIgnored() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Assertions.assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", PATH), response, new Object()));
+        Assertions.assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", PATH + "/1"), response, new Object()));
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testUntrackedCollectionGetsNoETag() {
+        versions.setTracked(CollectionVersions.BRANCHES, false);
+
+        MockHttpServletResponse response = get(null, true);
+
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,155 @@
+package com.banquito.core.branches.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchBulkResult;
+import com.banquito.core.branches.service.ReactiveBranchService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveBranchControllerTest {
+
+    @Mock
+    private ReactiveBranchService branchService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    public void setUp() {
+        client = WebTestClient.bindToController(new ReactiveBranchController(branchService)).build();
+    }
+
+    @Test
+    public void testLookupReportsMissingCodes() {
+        Branch branch = new Branch();
+        branch.setCode("001");
+        branch.setName("Matriz");
+        when(branchService.lookByCodes(anyList())).thenReturn(Flux.just(branch));
+
+        client.post().uri("/api/v1/branches/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Arrays.asList("001", "002"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.found.length()").isEqualTo(1)
+                .jsonPath("$.found[0].code").isEqualTo("001")
+                .jsonPath("$.missing[0]").isEqualTo("002");
+    }
+
+    @Test
+    public void testLookupWithoutCodesReturnsBadRequest() {
+        client.post().uri("/api/v1/branches/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.emptyList())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(branchService);
+    }
+
+    @Test
+    public void testObtainAllWithFieldsReturnsTheProjection() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("code", "001");
+        when(branchService.getAll(Collections.singletonList("code"))).thenReturn(Flux.just(row));
+
+        client.get().uri("/api/v1/branches?fields=code")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].code").isEqualTo("001")
+                .jsonPath("$[0].name").doesNotExist();
+    }
+
+    @Test
+    public void testObtainAllWithUnknownFieldReturnsBadRequest() {
+        client.get().uri("/api/v1/branches?fields=code,password")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(branchService);
+    }
+
+    @Test
+    public void testBulkCreateFromNdjson() {
+        when(branchService.bulkCreate(any())).thenAnswer(invocation -> {
+            Flux<Branch> branches = invocation.getArgument(0);
+            return branches.index()
+                    .map(read -> new BranchBulkResult(read.getT1().intValue(), read.getT2().getCode(), BranchBulkResult.CREATED, null))
+                    .collectList();
+        });
+
+        client.post().uri("/api/v1/branches/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"code\":\"001\",\"name\":\"Matriz\"}\n{\"code\":\"002\",\"name\":\"Norte\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.complete").isEqualTo(true)
+                .jsonPath("$.created").isEqualTo(2)
+                .jsonPath("$.items[1].code").isEqualTo("002");
+    }
+
+    @Test
+    public void testBulkCreateWithMalformedLineReturnsPartialResult() {
+        when(branchService.bulkCreate(any())).thenAnswer(invocation -> {
+            Flux<Branch> branches = invocation.getArgument(0);
+            List<BranchBulkResult> results = new ArrayList<>();
+            return branches
+                    .doOnNext(branch -> results.add(new BranchBulkResult(results.size(), branch.getCode(), BranchBulkResult.CREATED, null)))
+                    .then(Mono.fromSupplier(() -> results))
+                    .onErrorResume(e -> {
+                        results.add(new BranchBulkResult(results.size(), null, BranchBulkResult.UNREADABLE, e.getMessage()));
+                        return Mono.just(results);
+                    });
+        });
+
+        client.post().uri("/api/v1/branches/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"code\":\"001\",\"name\":\"Matriz\"}\n{\"code\":\"002\",\n")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.complete").isEqualTo(false)
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.items[1].status").isEqualTo(BranchBulkResult.UNREADABLE);
+    }
+
+    @Test
+    public void testBulkCreateWithAbortedChunkReturnsPartialResult() {
+        when(branchService.bulkCreate(any())).thenReturn(Mono.just(Arrays.asList(
+                new BranchBulkResult(0, "001", BranchBulkResult.CREATED, null),
+                new BranchBulkResult(1, "002", BranchBulkResult.ABORTED, "Timed out waiting for a server"))));
+
+        client.post().uri("/api/v1/branches/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"code\":\"001\"},{\"code\":\"002\"}]")
+                .exchange()
+                .expectStatus().isEqualTo(510)
+                .expectBody()
+                .jsonPath("$.complete").isEqualTo(false)
+                .jsonPath("$.items[1].status").isEqualTo(BranchBulkResult.ABORTED);
+    }
+}
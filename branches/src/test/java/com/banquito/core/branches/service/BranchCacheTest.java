@@ -0,0 +1,123 @@
+package com.banquito.core.branches.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.banquito.core.branches.config.MongoValues;
+import com.banquito.core.branches.model.Branch;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BranchCacheTest {
+
+    private MongoTemplate mongoTemplate;
+    private MongoConverter converter;
+    private CollectionVersions versions;
+    private BranchCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        converter = mock(MongoConverter.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        versions = new CollectionVersions();
+        cache = new BranchCache(mongoTemplate, new MongoValues(), new SimpleMeterRegistry(), versions);
+    }
+
+    private Branch branch(String id, String code, String name) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setCode(code);
+        branch.setName(name);
+        return branch;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChangeStreamDocument<Document> change(OperationType operationType, String id, Document fullDocument) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(operationType);
+        when(change.getFullDocument()).thenReturn(fullDocument);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(new ObjectId(id))));
+        return change;
+    }
+
+    @Test
+    public void testNotLiveUntilTheStreamIsOpen() {
+        cache.load(List.of(branch("1", "001", "Matriz")));
+
+        Assertions.assertFalse(cache.isLive());
+        Assertions.assertEquals("Matriz", cache.get("001").getName());
+    }
+
+    @Test
+    public void testCodeChangeDropsTheOldCode() {
+        cache.put(branch("1", "001", "Matriz"));
+        cache.put(branch("1", "002", "Matriz"));
+
+        Assertions.assertNull(cache.get("001"));
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.getAll(Arrays.asList("001", "002", "003")).size());
+    }
+
+    @Test
+    public void testChangesFromTheStreamAreApplied() {
+        String id = new ObjectId().toHexString();
+        Document document = new Document("_id", new ObjectId(id)).append("code", "001").append("name", "Norte");
+        when(converter.read(Branch.class, document)).thenReturn(branch(id, "001", "Norte"));
+        cache.put(branch(id, "001", "Matriz"));
+
+        cache.apply(change(OperationType.UPDATE, id, document));
+        Assertions.assertEquals("Norte", cache.get("001").getName());
+
+        cache.apply(change(OperationType.DELETE, id, null));
+        Assertions.assertNull(cache.get("001"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(2, versions.getVersion(CollectionVersions.BRANCHES));
+    }
+
+    @Test
+    public void testLoadBumpsTheVersion() {
+        cache.load(List.of(branch("1", "001", "Matriz")));
+
+        Assertions.assertEquals(1, versions.getVersion(CollectionVersions.BRANCHES));
+        Assertions.assertFalse(versions.isTracked(CollectionVersions.BRANCHES));
+    }
+
+    @Test
+    public void testUnreadableChangeIsSkipped() {
+        String id = new ObjectId().toHexString();
+        Document document = new Document("_id", new ObjectId(id)).append("code", 1);
+        when(converter.read(Branch.class, document)).thenThrow(new ConversionFailedException(
+                TypeDescriptor.valueOf(Integer.class), TypeDescriptor.valueOf(String.class), 1, new NumberFormatException()));
+        cache.put(branch(id, "001", "Matriz"));
+
+        cache.apply(change(OperationType.REPLACE, id, document));
+
+        Assertions.assertNull(cache.get("001"));
+        Assertions.assertEquals(1, versions.getVersion(CollectionVersions.BRANCHES));
+    }
+
+    @Test
+    public void testDroppedCollectionInvalidatesTheStream() {
+        ChangeStreamDocument<Document> drop = change(OperationType.DROP, new ObjectId().toHexString(), null);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.apply(drop));
+    }
+}
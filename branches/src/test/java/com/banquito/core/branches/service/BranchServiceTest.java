@@ -1,4 +1,6 @@
 package com.banquito.core.branches.service;
+import com.banquito.core.branches.config.BulkValues;
+import com.banquito.core.branches.config.MongoValues;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
 import com.banquito.core.branches.repository.BranchRepository;
@@ -8,12 +10,33 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.bson.BsonDocument;
+import org.bson.Document;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -23,6 +46,24 @@ public class BranchServiceTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkValues bulkValues;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private CollectionVersions versions;
+
+    @Mock
+    private MongoValues mongoValues;
+
+    @Mock
+    private BranchCache branchCache;
+
     @InjectMocks
     private BranchService branchService;
 
@@ -59,11 +100,68 @@ public class BranchServiceTest {
         branch.setCode("001");
         branch.setName("Branch 001");
 
-        when(branchRepository.findByCode(code)).thenReturn(branch);
+        when(mongoTemplate.findOne(any(Query.class), eq(Branch.class))).thenReturn(branch);
         Branch branchTest = branchService.lookByCode(code);
         assertEquals(branchTest, branch);
     }
 
+    @Test
+    public void testLookByCodeIsServedByTheLiveCache() {
+        Branch branch = new Branch();
+        branch.setCode("001");
+        when(branchCache.isLive()).thenReturn(true);
+        when(branchCache.get("001")).thenReturn(branch);
+        when(branchCache.getAll(any())).thenReturn(Collections.singletonList(branch));
+
+        assertEquals(branch, branchService.lookByCode("001"));
+        assertEquals(1, branchService.lookByCodes(Arrays.asList("001", "002")).size());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testLookupsUseConfiguredReadPreferenceAndTimeout() {
+        MongoValues values = new MongoValues();
+        values.setLookupReadPreference("secondaryPreferred");
+        values.setCommandTimeout(Duration.ofMillis(250));
+        BranchService service = new BranchService(branchRepository, mongoTemplate, bulkValues, versions, values,
+                branchCache);
+
+        service.lookByCode("001");
+
+        verify(mongoTemplate).findOne(argThat((Query query) -> query.getMeta().getMaxTimeMsec() == 250L
+                && ReadPreference.secondaryPreferred().equals(query.getReadPreference())), eq(Branch.class));
+        verify(branchRepository, never()).findByCode(anyString());
+    }
+
+    @Test
+    public void testLookByCodesQueriesDistinctCodesOnce() {
+        Branch branch = new Branch();
+        branch.setCode("001");
+        when(mongoTemplate.find(any(Query.class), eq(Branch.class))).thenReturn(Collections.singletonList(branch));
+
+        List<Branch> branches = branchService.lookByCodes(Arrays.asList("001", "002", "001"));
+
+        assertEquals(1, branches.size());
+        verify(mongoTemplate, times(1)).find(argThat((Query query) -> new ArrayList<>(query.getQueryObject()
+                .get("code", Document.class).get("$in", Collection.class)).equals(Arrays.asList("001", "002"))),
+                eq(Branch.class));
+        verify(mongoTemplate, never()).findOne(any(Query.class), eq(Branch.class));
+    }
+
+    @Test
+    public void testGetAllFieldsProjectsOnlyRequestedFields() {
+        when(mongoTemplate.getCollectionName(Branch.class)).thenReturn("branches");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("branches")))
+                .thenReturn(Collections.singletonList(new Document("code", "001")));
+
+        List<Map<String, Object>> branches = branchService.getAll(Arrays.asList("code"));
+
+        assertEquals(Collections.singletonList(Collections.singletonMap("code", "001")), branches);
+        verify(mongoTemplate).find(argThat((Query query) -> query.getFieldsObject()
+                .equals(new Document("code", 1).append("_id", 0))), eq(Document.class), eq("branches"));
+        verify(branchRepository, never()).findAll();
+    }
+
     @Test
     public void testCreateBranch() throws CRUDException {
         // Arrange
@@ -117,17 +215,20 @@ public class BranchServiceTest {
         branchToUpdate.setCode("B001");
         branchToUpdate.setName("Branch 001 Updated");
         branchToUpdate.setId("1");
-        when(branchRepository.findByCode(code)).thenReturn(existingBranch);
-        when(branchRepository.save(existingBranch)).thenReturn(existingBranch);
+        existingBranch.setName("Branch 001 Updated");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Branch.class)))
+                .thenReturn(existingBranch);
         // Act
-        branchService.update(code, branchToUpdate);
-        // Assert
-        assertEquals(branchToUpdate.getName(), existingBranch.getName());
-        verify(branchRepository, times(1)).findByCode(code);
-        verify(branchRepository, times(1)).save(existingBranch);
+        Branch updated = branchService.update(code, branchToUpdate);
+        // Assert: a single findAndModify round trip, no read before or after
+        assertEquals(branchToUpdate.getName(), updated.getName());
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Branch.class));
+        verifyNoMoreInteractions(mongoTemplate);
+        verify(versions, times(1)).bump(CollectionVersions.BRANCHES);
+        verifyNoInteractions(branchRepository);
     }
 
-    @Test(expected = CRUDException.class)
+    @Test
     public void testUpdateBranchNotFound() throws CRUDException {
         // Arrange
         String code = "B001";
@@ -135,10 +236,106 @@ public class BranchServiceTest {
         branchToUpdate.setCode("B001");
         branchToUpdate.setName("Branch 001 Updated");
         branchToUpdate.setId("1");
-        when(branchRepository.findByCode(code)).thenReturn(null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Branch.class)))
+                .thenReturn(null);
+        // Act
+        CRUDException e = assertThrows(CRUDException.class, () -> branchService.update(code, branchToUpdate));
+        // Assert
+        assertEquals(404, e.getErrorCode().intValue());
+    }
+
+    @Test
+    public void testBulkCreateReportsDuplicates() throws CRUDException {
+        // Arrange
+        Branch branch = new Branch();
+        branch.setCode("001");
+        Branch duplicated = new Branch();
+        duplicated.setCode("002");
+        Branch branch3 = new Branch();
+        branch3.setCode("003");
+        when(bulkValues.getChunkSize()).thenReturn(2);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)).thenReturn(bulkOperations);
+        BulkOperationException duplicateError = mock(BulkOperationException.class);
+        when(duplicateError.getErrors()).thenReturn(Collections.singletonList(
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+        when(bulkOperations.execute()).thenThrow(duplicateError).thenReturn(null);
+
         // Act
-        branchService.update(code, branchToUpdate);
+        List<BranchBulkResult> results = branchService.bulkCreate(Arrays.asList(branch, duplicated, branch3).iterator());
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(BranchBulkResult.CREATED, results.get(0).getStatus());
+        assertEquals(BranchBulkResult.DUPLICATED, results.get(1).getStatus());
+        assertEquals("002", results.get(1).getCode());
+        assertEquals(BranchBulkResult.CREATED, results.get(2).getStatus());
+        assertEquals(2, results.get(2).getIndex());
+        verify(mongoTemplate, times(2)).bulkOps(BulkMode.UNORDERED, Branch.class);
+    }
+
+    @Test
+    public void testBulkCreateKeepsBranchesReadBeforeAnUnreadableOne() throws CRUDException {
+        // Arrange
+        Branch branch = new Branch();
+        branch.setCode("001");
+        Iterator<Branch> branches = new Iterator<Branch>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Branch next() {
+                if (this.read++ == 0) {
+                    return branch;
+                }
+                throw new IllegalArgumentException("Unexpected character ('}' (code 125))");
+            }
+        };
+        when(bulkValues.getChunkSize()).thenReturn(10);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)).thenReturn(bulkOperations);
+
+        // Act
+        List<BranchBulkResult> results = branchService.bulkCreate(branches);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(BranchBulkResult.CREATED, results.get(0).getStatus());
+        assertEquals(BranchBulkResult.UNREADABLE, results.get(1).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+        verify(bulkOperations).insert(Collections.singletonList(branch));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    public void testBulkCreateReportsTheChunksBeforeAFailedOne() {
+        // Arrange
+        List<Branch> input = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Branch branch = new Branch();
+            branch.setCode("00" + i);
+            input.add(branch);
+        }
+        Iterator<Branch> branches = input.iterator();
+        when(bulkValues.getChunkSize()).thenReturn(2);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(null)
+                .thenThrow(new DataAccessResourceFailureException("Timed out waiting for a server"));
+
+        // Act
+        List<BranchBulkResult> results = branchService.bulkCreate(branches);
+
         // Assert
-        verify(branchRepository, times(1)).findByCode(code);
+        assertEquals(4, results.size());
+        assertEquals(BranchBulkResult.CREATED, results.get(0).getStatus());
+        assertEquals(BranchBulkResult.CREATED, results.get(1).getStatus());
+        assertEquals(BranchBulkResult.ABORTED, results.get(2).getStatus());
+        assertEquals("003", results.get(2).getCode());
+        assertEquals(BranchBulkResult.ABORTED, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+        assertEquals("005", branches.next().getCode());
+        verify(branchCache, times(2)).put(any(Branch.class));
     }
 }
@@ -0,0 +1,206 @@
+package com.banquito.core.branches.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.banquito.core.branches.config.BulkValues;
+import com.banquito.core.branches.exception.CRUDException;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.repository.ReactiveBranchRepository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveBranchServiceTest {
+
+    @Mock
+    private ReactiveBranchRepository branchRepository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private ReactiveBulkOperations bulkOperations;
+
+    private ReactiveBranchService service;
+
+    private Branch branch;
+
+    @BeforeEach
+    public void setUp() {
+        BulkValues bulkValues = new BulkValues();
+        bulkValues.setChunkSize(2);
+        service = new ReactiveBranchService(branchRepository, mongoTemplate, bulkValues);
+        branch = new Branch();
+        branch.setId("1");
+        branch.setCode("001");
+        branch.setName("Matriz");
+    }
+
+    @Test
+    public void testUpdateRenamesBranch() {
+        Branch changes = new Branch();
+        changes.setName("Sucursal Norte");
+        branch.setName("Sucursal Norte");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Branch.class)))
+                .thenReturn(Mono.just(branch));
+
+        Branch updated = service.update("001", changes).block();
+
+        Assertions.assertEquals("Sucursal Norte", updated.getName());
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Branch.class));
+        verifyNoInteractions(branchRepository);
+    }
+
+    @Test
+    public void testUpdateMissingBranchFailsWith404() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Branch.class)))
+                .thenReturn(Mono.empty());
+
+        CRUDException e = unwrap(Assertions.assertThrows(RuntimeException.class,
+                () -> service.update("999", branch).block()));
+
+        Assertions.assertEquals(404, e.getErrorCode());
+    }
+
+    @Test
+    public void testCreateMapsErrorTo510() {
+        when(branchRepository.save(branch)).thenReturn(Mono.error(new RuntimeException("down")));
+
+        CRUDException e = unwrap(Assertions.assertThrows(RuntimeException.class, () -> service.create(branch).block()));
+
+        Assertions.assertEquals(510, e.getErrorCode());
+    }
+
+    @Test
+    public void testLookByCodesQueriesEachCodeOnce() {
+        when(mongoTemplate.find(any(Query.class), eq(Branch.class))).thenReturn(Flux.just(branch));
+
+        List<Branch> found = service.lookByCodes(Arrays.asList("001", "002", "001")).collectList().block();
+
+        Assertions.assertEquals(1, found.size());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Branch.class));
+        Assertions.assertEquals(Query.query(Criteria.where("code").in(Arrays.asList("001", "002"))).getQueryObject().toJson(),
+                query.getValue().getQueryObject().toJson());
+    }
+
+    @Test
+    public void testGetAllProjectsTheRequestedFields() {
+        when(mongoTemplate.getCollectionName(Branch.class)).thenReturn("branches");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("branches")))
+                .thenReturn(Flux.just(new Document("_id", "1").append("code", "001")));
+
+        List<Map<String, Object>> rows = service.getAll(Arrays.asList("id", "code")).collectList().block();
+
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertEquals("1", rows.get(0).get("id"));
+        Assertions.assertEquals("001", rows.get(0).get("code"));
+        verify(mongoTemplate).find(eq(BranchService.fieldsQuery(Arrays.asList("id", "code"))), eq(Document.class), eq("branches"));
+    }
+
+    @Test
+    public void testBulkCreateReportsDuplicates() {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(any(List.class))).thenReturn(bulkOperations);
+        MongoBulkWriteException duplicateError = new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                Collections.singletonList(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)),
+                null, new ServerAddress(), Collections.emptySet());
+        when(bulkOperations.execute())
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key", duplicateError)))
+                .thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+
+        List<BranchBulkResult> results = service.bulkCreate(Flux.just(branch("001"), branch("002"), branch("003"))).block();
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(BranchBulkResult.CREATED, results.get(0).getStatus());
+        Assertions.assertEquals(BranchBulkResult.DUPLICATED, results.get(1).getStatus());
+        Assertions.assertEquals("002", results.get(1).getCode());
+        Assertions.assertEquals(BranchBulkResult.CREATED, results.get(2).getStatus());
+        Assertions.assertEquals(2, results.get(2).getIndex());
+        verify(mongoTemplate, times(2)).bulkOps(BulkMode.UNORDERED, Branch.class);
+    }
+
+    @Test
+    public void testBulkCreateKeepsBranchesReadBeforeAnUnreadableOne() {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(any(List.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+        Flux<Branch> branches = Flux.just(branch("001"))
+                .concatWith(Flux.error(new IllegalArgumentException("Unexpected character ('}' (code 125))")));
+
+        List<BranchBulkResult> results = service.bulkCreate(branches).block();
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(BranchBulkResult.CREATED, results.get(0).getStatus());
+        Assertions.assertEquals(BranchBulkResult.UNREADABLE, results.get(1).getStatus());
+        Assertions.assertEquals(1, results.get(1).getIndex());
+    }
+
+    @Test
+    public void testBulkCreateReportsTheChunksBeforeAFailedOne() {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(any(List.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenReturn(Mono.just(BulkWriteResult.unacknowledged()))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("Timed out waiting for a server")));
+
+        List<BranchBulkResult> results = service.bulkCreate(
+                Flux.just(branch("001"), branch("002"), branch("003"), branch("004"), branch("005"))).block();
+
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertEquals(BranchBulkResult.CREATED, results.get(1).getStatus());
+        Assertions.assertEquals(BranchBulkResult.ABORTED, results.get(2).getStatus());
+        Assertions.assertEquals("003", results.get(2).getCode());
+        Assertions.assertEquals(BranchBulkResult.ABORTED, results.get(3).getStatus());
+        Assertions.assertEquals(3, results.get(3).getIndex());
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    private Branch branch(String code) {
+        Branch branch = new Branch();
+        branch.setCode(code);
+        return branch;
+    }
+
+    private CRUDException unwrap(RuntimeException blocked) {
+        Throwable cause = Exceptions.unwrap(blocked);
+        Assertions.assertInstanceOf(CRUDException.class, cause);
+        return (CRUDException) cause;
+    }
+}
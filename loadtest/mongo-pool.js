@@ -0,0 +1,85 @@
+// p99 of the branch lookups under saturation for different Mongo client settings (k6, https://k6.io).
+//
+// 1. Start a local mongod with the credentials of the default mongo.* values:
+//      docker run -d --name mongo-load -p 27017:27017 \
+//          -e MONGO_INITDB_ROOT_USERNAME=admin -e MONGO_INITDB_ROOT_PASSWORD=admin123 mongo:7
+//    (MONGO_LOOKUP_READ_PREFERENCE only changes anything against a replica set with secondaries.)
+// 2. Start branches against it with one setting changed at a time, for example:
+//      MONGO_POOL_MAX_SIZE=10 MONGO_POOL_MAX_WAIT_TIME=200ms java -jar branches/target/branches-0.1.jar
+//    and run:
+//      k6 run -e SETTING=pool10-wait200ms loadtest/mongo-pool.js
+// 3. Repeat per setting (MONGO_POOL_MAX_SIZE, MONGO_POOL_MIN_SIZE, MONGO_POOL_MAX_IDLE_TIME,
+//    MONGO_POOL_MAX_WAIT_TIME, MONGO_COMMAND_TIMEOUT, MONGO_SOCKET_TIMEOUT, MONGO_COMPRESSORS=zstd or
+//    snappy, MONGO_LOOKUP_READ_PREFERENCE=secondaryPreferred) and compare http_req_duration p(99) and
+//    http_req_failed per SETTING tag. Failures rise once requests outwait pool-max-wait-time or
+//    command-timeout; that is the fail-fast trade against a longer tail.
+//
+// BASE_URL defaults to a branches instance on its local port; BRANCHES branches are created in setup()
+// through the bulk endpoint (existing codes are reported as duplicated and reused).
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8102/api/v1/branches';
+const BRANCHES = parseInt(__ENV.BRANCHES || '10000');
+const LOOKUP_SIZE = parseInt(__ENV.LOOKUP_SIZE || '50');
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '1000');
+
+export const options = {
+    scenarios: {
+        saturation: {
+            executor: 'ramping-vus',
+            startVUs: 10,
+            stages: [
+                { duration: '1m', target: MAX_VUS / 8 },
+                { duration: '1m', target: MAX_VUS / 4 },
+                { duration: '1m', target: MAX_VUS / 2 },
+                { duration: '1m', target: MAX_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{endpoint:code}': ['p(99)<200'],
+        'http_req_duration{endpoint:lookup}': ['p(99)<500'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    tags: { setting: __ENV.SETTING || 'default' },
+};
+
+function code(i) {
+    return 'L' + String(i).padStart(7, '0');
+}
+
+export function setup() {
+    const lines = [];
+    for (let i = 0; i < BRANCHES; i++) {
+        lines.push(JSON.stringify({ code: code(i), name: 'Load branch ' + i }));
+    }
+    const res = http.post(BASE_URL + '/bulk', lines.join('\n'), {
+        headers: { 'Content-Type': 'application/x-ndjson' },
+        timeout: '5m',
+    });
+    check(res, { 'branches seeded': (r) => r.status === 200 });
+}
+
+export default function () {
+    if (Math.random() < 0.8) {
+        const res = http.get(BASE_URL + '/' + code(Math.floor(Math.random() * BRANCHES)), {
+            tags: { endpoint: 'code', name: BASE_URL + '/{code}' },
+        });
+        check(res, { 'status is 200': (r) => r.status === 200 });
+    } else {
+        const codes = [];
+        for (let i = 0; i < LOOKUP_SIZE; i++) {
+            codes.push(code(Math.floor(Math.random() * BRANCHES)));
+        }
+        const res = http.post(BASE_URL + '/lookup', JSON.stringify(codes), {
+            headers: { 'Content-Type': 'application/json' },
+            tags: { endpoint: 'lookup', name: BASE_URL + '/lookup' },
+        });
+        check(res, { 'status is 200': (r) => r.status === 200 });
+    }
+}
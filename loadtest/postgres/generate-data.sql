@@ -0,0 +1,53 @@
+-- Repeatable volume data for the products-accounts schema (psql).
+--
+--   psql -h localhost -p 8200 -U postgres -d products_accounts -v rows=10000000 -f loadtest/postgres/generate-data.sql
+--
+-- Generated rows use ids prefixed GEN and rate names prefixed GEN, are deleted and recreated on every run
+-- and depend only on their sequence number, so two runs produce the same data. States are spread 70% ACT,
+-- 20% INA and 10% DRA; half of the accounts pay interest, each on one of the rate_names generated rates,
+-- which get rate_periods periods each.
+
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\if :{?rate_names}
+\else
+\set rate_names 2000
+\endif
+\if :{?rate_periods}
+\else
+\set rate_periods 50
+\endif
+
+\timing on
+
+delete from public.INTEREST_ACCRUAL where ID_PRODUCT_ACCOUNT like 'GEN%';
+delete from public.PRODUCT_ACCOUNT where ID_PRODUCT_ACCOUNT like 'GEN%';
+delete from public.INTEREST_RATE where NAME like 'GEN%';
+
+insert into public.PRODUCT_ACCOUNT
+   (ID_PRODUCT_ACCOUNT, NAME, DESCRIPTION, MINIMUN_BALANCE, PAY_INTEREST, ACCEPTS_CHECKS, STATE, CREATION_DATE,
+    INTEREST_RATE_NAME)
+select 'GEN' || lpad(i::text, 12, '0'),
+       'Generated account ' || i,
+       repeat('Generated product account description. ', 12),
+       (i % 100000) / 100.0,
+       case when i % 2 = 0 then 'Y' else 'N' end,
+       case when i % 3 = 0 then 'Y' else 'N' end,
+       case when i % 10 < 7 then 'ACT' when i % 10 < 9 then 'INA' else 'DRA' end,
+       date '2020-01-01' + (i % 1000),
+       case when i % 2 = 0 then 'GEN RATE ' || (i / 2 % :rate_names + 1) end
+from generate_series(1, :rows) as i;
+
+insert into public.INTEREST_RATE (NAME, INTEREST_RATE, STATE, START_DATE, END_DATE)
+select 'GEN RATE ' || n,
+       ((n * 7 + p * 13) % 9900) / 10000.0,
+       case when p = :rate_periods then 'ACT' else 'INA' end,
+       date '2000-01-01' + (p - 1) * 90,
+       case when p = :rate_periods then null else date '2000-01-01' + p * 90 end
+from generate_series(1, :rate_names) as n, generate_series(1, :rate_periods) as p;
+
+-- Index-only scans need the visibility map set and fresh statistics
+vacuum (analyze) public.PRODUCT_ACCOUNT;
+vacuum (analyze) public.INTEREST_RATE;
@@ -0,0 +1,62 @@
+-- Checks that the queries behind the state-filtered and rate lookups use the V4 and V7 indexes (psql), after
+-- generate-data.sql. Every plan is printed with EXPLAIN (ANALYZE, BUFFERS); the script stops with an error
+-- when a plan does not use the expected scan.
+--
+--   psql -h localhost -p 8200 -U postgres -d products_accounts -v ON_ERROR_STOP=1 -f loadtest/postgres/plan-check.sql
+
+\set ON_ERROR_STOP on
+
+create or replace function pg_temp.expect_scan(query text, scan text, index_name text) returns void as $$
+declare
+   line text;
+   found boolean := false;
+begin
+   for line in execute 'explain (analyze, buffers, costs off) ' || query loop
+      raise notice '%', line;
+      if position(lower(scan || ' using ' || index_name) in lower(line)) > 0 then
+         found := true;
+      end if;
+   end loop;
+   if not found then
+      raise exception 'expected % using % for: %', scan, index_name, query;
+   end if;
+   raise notice 'OK: % using %', scan, index_name;
+end;
+$$ language plpgsql;
+
+-- Keyset page of active accounts with a fields=id,name projection
+select pg_temp.expect_scan(
+   'select ID_PRODUCT_ACCOUNT, NAME from PRODUCT_ACCOUNT where STATE = ''ACT'' '
+   || 'and ID_PRODUCT_ACCOUNT > ''GEN000005000000'' order by ID_PRODUCT_ACCOUNT limit 500',
+   'Index Only Scan', 'IDX_PRODUCT_ACCOUNT_ACTIVE');
+
+-- Interest accrual page
+select pg_temp.expect_scan(
+   'select ID_PRODUCT_ACCOUNT, INTEREST_RATE_NAME, cast(round(MINIMUN_BALANCE * 100) as bigint) from PRODUCT_ACCOUNT '
+   || 'where STATE = ''ACT'' and PAY_INTEREST = ''Y'' and ID_PRODUCT_ACCOUNT > ''GEN000005000000'' '
+   || 'order by ID_PRODUCT_ACCOUNT limit 2000',
+   'Index Only Scan', 'IDX_PRODUCT_ACCOUNT_ACTIVE');
+
+-- Full entity page (findByStateAndIdGreaterThanOrderByIdAsc): DESCRIPTION is not in the index, so the
+-- heap is visited, but only for the rows of the page
+select pg_temp.expect_scan(
+   'select * from PRODUCT_ACCOUNT where STATE = ''ACT'' and ID_PRODUCT_ACCOUNT > '''' '
+   || 'order by ID_PRODUCT_ACCOUNT limit 500',
+   'Index Scan', 'IDX_PRODUCT_ACCOUNT_ACTIVE');
+
+-- Periods of one rate name in start order (as-of index refresh)
+select pg_temp.expect_scan(
+   'select NAME, START_DATE, END_DATE, INTEREST_RATE, STATE from INTEREST_RATE '
+   || 'where NAME = ''GEN RATE 1000'' order by START_DATE',
+   'Index Only Scan', 'IDX_INTEREST_RATE_NAME_START');
+
+-- Rate in effect on a day for one name
+select pg_temp.expect_scan(
+   'select INTEREST_RATE from INTEREST_RATE where NAME = ''GEN RATE 1000'' '
+   || 'and START_DATE <= date ''2005-06-01'' order by START_DATE desc limit 1',
+   'Index Only Scan', 'IDX_INTEREST_RATE_NAME_START');
+
+-- Active rate ids
+select pg_temp.expect_scan(
+   'select ID_INTEREST_RATE from INTEREST_RATE where STATE = ''ACT'' order by ID_INTEREST_RATE',
+   'Index Only Scan', 'IDX_INTEREST_RATE_ACT');
@@ -0,0 +1,46 @@
+// Compares platform vs virtual thread request handling (k6, https://k6.io).
+//
+// 1. Start the stack with platform threads and run:
+//      VIRTUAL_THREADS_ENABLED=false docker compose -f servicesCompose/docker-compose.yaml up -d --build
+//      k6 run -e MODE=platform loadtest/threading.js
+// 2. Restart with VIRTUAL_THREADS_ENABLED=true and run again with -e MODE=virtual.
+// 3. Compare, per MODE, the highest VU stage that still meets the thresholds
+//    (max sustainable concurrency) and http_req_duration p(99).
+//
+// TARGETS defaults to one catalogue endpoint per service on the compose ports.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const TARGETS = (__ENV.TARGETS ||
+    'http://localhost:8202/api/v1/branches,http://localhost:8203/api/v1/productsaccounts').split(',');
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000');
+
+export const options = {
+    scenarios: {
+        saturation: {
+            executor: 'ramping-vus',
+            startVUs: 50,
+            stages: [
+                { duration: '1m', target: MAX_VUS / 8 },
+                { duration: '1m', target: MAX_VUS / 4 },
+                { duration: '1m', target: MAX_VUS / 2 },
+                { duration: '1m', target: MAX_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: [{ threshold: 'rate<0.01', abortOnFail: true, delayAbortEval: '30s' }],
+        http_req_duration: ['p(99)<500'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    tags: { mode: __ENV.MODE || 'unknown' },
+};
+
+export default function () {
+    const url = TARGETS[Math.floor(Math.random() * TARGETS.length)];
+    const res = http.get(url, { tags: { name: url } });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
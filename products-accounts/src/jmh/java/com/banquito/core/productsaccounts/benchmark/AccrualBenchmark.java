@@ -0,0 +1,91 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.banquito.core.productsaccounts.model.AccrualBatch;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.service.InterestAccrualCalculator;
+import com.banquito.core.productsaccounts.service.InterestRateIndex;
+
+/**
+ * Accrual kernel over one page of accounts, reported as accounts per second: the fork-join
+ * scaled-long calculator against a single-threaded BigDecimal loop doing the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccrualBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+    private static final int NAMES = 20;
+    private static final LocalDate DAY = LocalDate.of(2023, 5, 1);
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+
+    private InterestAccrualCalculator calculator;
+    private InterestRateIndex index;
+    private AccrualBatch batch;
+
+    @Setup
+    public void setUp() {
+        List<InterestRate> interestRates = new ArrayList<>(NAMES);
+        for (int n = 0; n < NAMES; n++) {
+            InterestRate interestRate = new InterestRate();
+            interestRate.setId(n);
+            interestRate.setName("RATE " + n);
+            interestRate.setInterestRate(BigDecimal.valueOf(100 + n * 25, 4));
+            interestRate.setState("ACT");
+            interestRate.setStart(Date.valueOf(DAY.minusYears(1)));
+            interestRates.add(interestRate);
+        }
+        index = new InterestRateIndex(Fixtures.interestRateRepository(interestRates), Fixtures.collectionVersions());
+        index.reload();
+        calculator = new InterestAccrualCalculator(index, ForkJoinPool.commonPool(), 512);
+        batch = new AccrualBatch(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            batch.add(String.format("PA%08d", i), "RATE " + (i % NAMES), 10_000 + i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public long[] scaledLongForkJoin() {
+        calculator.compute(batch, DAY.toEpochDay());
+        return batch.getInterestMicros();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public void bigDecimalSequential(Blackhole blackhole) {
+        String[] rateNames = batch.getRateNames();
+        long[] balanceCents = batch.getBalanceCents();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            InterestRate interestRate = index.findAsOf(rateNames[i], DAY);
+            blackhole.consume(BigDecimal.valueOf(balanceCents[i], 2)
+                    .multiply(interestRate.getInterestRate())
+                    .divide(DAYS_PER_YEAR, 6, RoundingMode.HALF_UP));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.banquito.core.productsaccounts.model.AccrualCheckpoint;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+import com.banquito.core.productsaccounts.service.InterestAccrualService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Full accrual run (keyset read, calculation, batched write, checkpoints) against a real Postgres.
+ *
+ * Run with: mvn -Pjmh test -Dtest=AccrualBenchmarkTest -Dbenchmark.jdbc=true
+ * (override spring.datasource.* with -D if the database is not the local compose one).
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.jdbc", matches = "true")
+public class AccrualBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 50000);
+    private static final LocalDate DATE = LocalDate.of(1999, 12, 31);
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Autowired
+    private ProductAccountRepository productAccountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> productAccountIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM INTEREST_ACCRUAL WHERE ACCRUAL_DATE = ?", java.sql.Date.valueOf(DATE));
+        jdbcTemplate.update("DELETE FROM ACCRUAL_CHECKPOINT WHERE ACCRUAL_DATE = ?", java.sql.Date.valueOf(DATE));
+        productAccountRepository.deleteAllByIdInBatch(productAccountIds);
+    }
+
+    @Test
+    public void accrueAccounts() {
+        List<ProductAccount> productAccounts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            ProductAccount productAccount = new ProductAccount();
+            productAccount.setId(String.format("AB%08d", i));
+            productAccount.setName("Benchmark " + i);
+            productAccount.setDescription("Accrual benchmark product account");
+            productAccount.setMinimunBalance(BigDecimal.valueOf(100_000 + i, 2));
+            productAccount.setPayInterest("Y");
+            productAccount.setInterestRateName("PASIVA CORRIENTE");
+            productAccount.setAcceptsChecks("N");
+            productAccount.setState("ACT");
+            productAccount.setCreationDate(new java.util.Date());
+            productAccounts.add(productAccount);
+            productAccountIds.add(productAccount.getId());
+        }
+        productAccountRepository.insertAll(productAccounts);
+
+        long start = System.nanoTime();
+        AccrualCheckpoint checkpoint = interestAccrualService.accrue(DATE);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        log.info("Accrual: {} accounts in {}s, {} accounts/s", checkpoint.getProcessedInRun(), String.format("%.2f", seconds),
+                Math.round(checkpoint.getProcessedInRun() / seconds));
+        Assertions.assertEquals(AccrualCheckpoint.FINISHED, checkpoint.getState());
+        Assertions.assertTrue(checkpoint.getProcessedInRun() >= ROWS);
+    }
+}
@@ -0,0 +1,131 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.service.ProductAccountService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the per-row create path with the batched one against a real Postgres.
+ *
+ * Run with: mvn -Pjmh test -Dtest=BulkInsertBenchmarkTest -Dbenchmark.jdbc=true
+ * (override spring.datasource.* with -D if the database is not the local compose one).
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.jdbc", matches = "true")
+public class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+
+    @Autowired
+    private ProductAccountService productAccountService;
+
+    @Autowired
+    private ProductAccountRepository productAccountRepository;
+
+    @Autowired
+    private InterestRateService interestRateService;
+
+    @Autowired
+    private InterestRateRepository interestRateRepository;
+
+    private final List<String> productAccountIds = new ArrayList<>();
+    private final List<Integer> interestRateIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        productAccountRepository.deleteAllByIdInBatch(productAccountIds);
+        interestRateRepository.deleteAllByIdInBatch(interestRateIds);
+    }
+
+    @Test
+    public void compareProductAccountInserts() {
+        List<ProductAccount> single = productAccounts("BS");
+        long start = System.nanoTime();
+        for (ProductAccount productAccount : single) {
+            productAccountService.create(productAccount);
+        }
+        double singleRate = rate(start);
+
+        List<ProductAccount> batch = productAccounts("BB");
+        start = System.nanoTime();
+        productAccountService.createAll(batch);
+        double batchRate = rate(start);
+
+        log.info("ProductAccount inserts/s: per-row={} batched={} (x{})", Math.round(singleRate), Math.round(batchRate),
+                String.format("%.1f", batchRate / singleRate));
+        Assertions.assertTrue(batchRate > singleRate);
+    }
+
+    @Test
+    public void compareInterestRateInserts() {
+        List<InterestRate> single = interestRates();
+        long start = System.nanoTime();
+        for (InterestRate interestRate : single) {
+            interestRateService.create(interestRate);
+        }
+        double singleRate = rate(start);
+
+        List<InterestRate> batch = interestRates();
+        start = System.nanoTime();
+        interestRateService.createAll(batch);
+        double batchRate = rate(start);
+
+        single.forEach(interestRate -> interestRateIds.add(interestRate.getId()));
+        batch.forEach(interestRate -> interestRateIds.add(interestRate.getId()));
+        log.info("InterestRate inserts/s: per-row={} batched={} (x{})", Math.round(singleRate), Math.round(batchRate),
+                String.format("%.1f", batchRate / singleRate));
+        Assertions.assertTrue(batchRate > singleRate);
+    }
+
+    private double rate(long start) {
+        return ROWS / ((System.nanoTime() - start) / 1_000_000_000d);
+    }
+
+    private List<ProductAccount> productAccounts(String prefix) {
+        List<ProductAccount> productAccounts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            ProductAccount productAccount = new ProductAccount();
+            productAccount.setId(String.format("%s%08d", prefix, i));
+            productAccount.setName("Benchmark " + i);
+            productAccount.setDescription("Benchmark product account");
+            productAccount.setMinimunBalance(BigDecimal.TEN);
+            productAccount.setPayInterest("N");
+            productAccount.setAcceptsChecks("N");
+            productAccount.setState("INA");
+            productAccounts.add(productAccount);
+            productAccountIds.add(productAccount.getId());
+        }
+        return productAccounts;
+    }
+
+    private List<InterestRate> interestRates() {
+        List<InterestRate> interestRates = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            InterestRate interestRate = new InterestRate();
+            interestRate.setName("BENCHMARK");
+            interestRate.setInterestRate(new BigDecimal("0.0100"));
+            interestRate.setState("INA");
+            interestRate.setStart(new Date());
+            interestRates.add(interestRate);
+        }
+        return interestRates;
+    }
+}
@@ -0,0 +1,171 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.banquito.core.productsaccounts.config.HttpCacheValues;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+import com.banquito.core.productsaccounts.service.ChangeOutbox;
+import com.banquito.core.productsaccounts.service.CollectionVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Entity builders and in-memory repository stubs shared by the benchmarks.
+ */
+public final class Fixtures {
+
+    private static final String DESCRIPTION = "x".repeat(500);
+
+    private Fixtures() {
+    }
+
+    public static List<ProductAccount> productAccounts(int size) {
+        List<ProductAccount> productAccounts = new ArrayList<>(size);
+        Date creationDate = new Date();
+        for (int i = 0; i < size; i++) {
+            ProductAccount productAccount = new ProductAccount();
+            productAccount.setId(String.format("PA%08d", i));
+            productAccount.setName("Product account " + i);
+            productAccount.setDescription(DESCRIPTION);
+            productAccount.setMinimunBalance(BigDecimal.valueOf(i % 1000, 2));
+            productAccount.setPayInterest(i % 2 == 0 ? "Y" : "N");
+            productAccount.setAcceptsChecks("N");
+            productAccount.setState("ACT");
+            productAccount.setCreationDate(creationDate);
+            productAccounts.add(productAccount);
+        }
+        return productAccounts;
+    }
+
+    public static List<InterestRate> interestRates(int size) {
+        List<InterestRate> interestRates = new ArrayList<>(size);
+        Date start = new Date();
+        for (int i = 0; i < size; i++) {
+            InterestRate interestRate = new InterestRate();
+            interestRate.setId(i);
+            interestRate.setName("RATE " + (i % 20));
+            interestRate.setInterestRate(BigDecimal.valueOf(i % 10000, 4));
+            interestRate.setState("ACT");
+            interestRate.setStart(start);
+            interestRates.add(interestRate);
+        }
+        return interestRates;
+    }
+
+    /**
+     * Outbox for services that are only read from in the benchmarks; recording a change would fail.
+     */
+    public static CollectionVersions collectionVersions() {
+        return new CollectionVersions(new ChangeOutboxRepository(null) {
+
+            @Override
+            public long findVersion(String aggregateType) {
+                return 0;
+            }
+        }, new HttpCacheValues());
+    }
+
+    public static ChangeOutbox changeOutbox() {
+        return new ChangeOutbox(new ChangeOutboxRepository(null), new ObjectMapper());
+    }
+
+    public static ProductAccountRepository productAccountRepository(List<ProductAccount> productAccounts) {
+        Map<String, ProductAccount> byId = productAccounts.stream()
+                .collect(Collectors.toMap(ProductAccount::getId, Function.identity()));
+        return (ProductAccountRepository) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+                new Class<?>[] { ProductAccountRepository.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByState":
+                            return productAccounts;
+                        case "findById":
+                            return Optional.ofNullable(byId.get(args[0]));
+                        case "findAllById":
+                            return findAllById(byId, (Iterable<?>) args[0]);
+                        case "save":
+                            return args[0];
+                        default:
+                            return objectMethod(proxy, method.getName(), args);
+                    }
+                });
+    }
+
+    public static InterestRateRepository interestRateRepository(List<InterestRate> interestRates) {
+        Map<Integer, InterestRate> byId = interestRates.stream()
+                .collect(Collectors.toMap(InterestRate::getId, Function.identity()));
+        return (InterestRateRepository) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+                new Class<?>[] { InterestRateRepository.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByState":
+                        case "findAll":
+                            return interestRates;
+                        case "findByName":
+                            return interestRates.stream().filter(rate -> rate.getName().equals(args[0]))
+                                    .collect(Collectors.toList());
+                        case "findById":
+                            return Optional.ofNullable(byId.get(args[0]));
+                        case "findAllById":
+                            return findAllById(byId, (Iterable<?>) args[0]);
+                        case "save":
+                            return args[0];
+                        default:
+                            return objectMethod(proxy, method.getName(), args);
+                    }
+                });
+    }
+
+    /**
+     * Wraps a repository so every call first waits for the given time, standing in for the network
+     * round trip to the database.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T withRoundTrip(Class<T> type, T repository, long roundTripNanos) {
+        return (T) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (roundTripNanos > 0) {
+                        LockSupport.parkNanos(roundTripNanos);
+                    }
+                    try {
+                        return method.invoke(repository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static <K, V> List<V> findAllById(Map<K, V> byId, Iterable<?> ids) {
+        List<V> found = new ArrayList<>();
+        for (Object id : ids) {
+            V entity = byId.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "StubRepository";
+            default:
+                throw new UnsupportedOperationException(name);
+        }
+    }
+}
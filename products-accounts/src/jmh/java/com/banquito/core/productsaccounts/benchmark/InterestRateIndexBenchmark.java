@@ -0,0 +1,77 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.service.InterestRateIndex;
+
+/**
+ * As-of lookups against the in-memory index, one history of monthly rate changes per name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestRateIndexBenchmark {
+
+    private static final int NAMES = 20;
+    private static final LocalDate FIRST_START = LocalDate.of(2000, 1, 1);
+
+    @Param({ "12", "300" })
+    private int changesPerName;
+
+    private InterestRateIndex index;
+    private String[] names;
+    private long lastDay;
+
+    @Setup
+    public void setUp() {
+        List<InterestRate> interestRates = new ArrayList<>(NAMES * changesPerName);
+        names = new String[NAMES];
+        int id = 0;
+        for (int n = 0; n < NAMES; n++) {
+            names[n] = "RATE " + n;
+            for (int m = 0; m < changesPerName; m++) {
+                InterestRate interestRate = new InterestRate();
+                interestRate.setId(id++);
+                interestRate.setName(names[n]);
+                interestRate.setInterestRate(BigDecimal.valueOf(m % 100, 4));
+                interestRate.setState(m == changesPerName - 1 ? "ACT" : "INA");
+                interestRate.setStart(Date.valueOf(FIRST_START.plusMonths(m)));
+                if (m < changesPerName - 1) {
+                    interestRate.setEnd(Date.valueOf(FIRST_START.plusMonths(m + 1)));
+                }
+                interestRates.add(interestRate);
+            }
+        }
+        index = new InterestRateIndex(Fixtures.interestRateRepository(interestRates), Fixtures.collectionVersions());
+        index.reload();
+        lastDay = FIRST_START.plusMonths(changesPerName).toEpochDay();
+    }
+
+    @Benchmark
+    public InterestRate findAsOf() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.findAsOf(names[random.nextInt(NAMES)], random.nextLong(FIRST_START.toEpochDay(), lastDay));
+    }
+}
@@ -0,0 +1,149 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import com.banquito.core.productsaccounts.controller.InterestRateController;
+import com.banquito.core.productsaccounts.controller.ProductAccountController;
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.dto.LookupRS;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.banquito.core.productsaccounts.service.CollectionVersions;
+import com.banquito.core.productsaccounts.service.InterestRateIndex;
+import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.service.ProductAccountService;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Controller calls over in-memory repositories with the application loggers off, writing
+ * synchronously, or going through the same bounded AsyncAppender as logback-spring.xml. The sink
+ * discards the bytes, so the numbers are the logging cost on the request thread without the
+ * console itself; a real terminal or pipe makes the synchronous case slower still.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %-40.40logger{39} : %m%n";
+
+    @Param({ "OFF", "SYNC", "ASYNC" })
+    private String appender;
+
+    @Param({ "INFO", "DEBUG" })
+    private String level;
+
+    private Logger logger;
+    private Appender<ILoggingEvent> attached;
+    private ProductAccountController productAccountController;
+    private InterestRateController interestRateController;
+    private List<String> ids;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = context.getLogger("com.banquito.core.productsaccounts");
+        if ("OFF".equals(appender)) {
+            logger.setLevel(Level.OFF);
+        } else {
+            attached = "ASYNC".equals(appender) ? async(context, sink(context)) : sink(context);
+            logger.setLevel(Level.toLevel(level));
+            logger.setAdditive(false);
+            logger.addAppender(attached);
+        }
+
+        int size = 1000;
+        productAccountController = new ProductAccountController(new ProductAccountService(
+                Fixtures.productAccountRepository(Fixtures.productAccounts(size)), Fixtures.collectionVersions(),
+                Fixtures.changeOutbox()));
+        InterestRateRepository interestRateRepository = Fixtures.interestRateRepository(Fixtures.interestRates(size));
+        CollectionVersions versions = Fixtures.collectionVersions();
+        interestRateController = new InterestRateController(new InterestRateService(interestRateRepository,
+                new InterestRateIndex(interestRateRepository, versions), versions, Fixtures.changeOutbox()));
+        ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(String.format("PA%08d", i * 7));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (attached != null) {
+            logger.detachAppender(attached);
+            attached.stop();
+        }
+        logger.setAdditive(true);
+        logger.setLevel(null);
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> sink(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        return sink;
+    }
+
+    private static AsyncAppender async(LoggerContext context, Appender<ILoggingEvent> sink) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1024);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(sink);
+        async.start();
+        return async;
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductAccountRQRS> obtainProductAccount() {
+        return productAccountController.obtainByCode("PA00000001");
+    }
+
+    @Benchmark
+    public ResponseEntity<LookupRS<ProductAccountRQRS>> lookupProductAccounts() {
+        return productAccountController.lookup(ids);
+    }
+
+    @Benchmark
+    public ResponseEntity<InterestRateRQRS> obtainInterestRate() {
+        return interestRateController.obtainByCode("1");
+    }
+}
@@ -0,0 +1,77 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+import com.banquito.core.productsaccounts.service.ProductAccountService;
+
+/**
+ * Resolving a screen worth of product accounts with N single lookups versus one multi-get. Each
+ * repository call waits for {@code roundTripMicros}, so the gap between both approaches grows with
+ * the latency to the database; one id in ten does not exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+
+    @Param({ "50" })
+    private int ids;
+
+    @Param({ "0", "200" })
+    private long roundTripMicros;
+
+    private ProductAccountService service;
+    private List<String> requested;
+
+    @Setup
+    public void setUp() {
+        ProductAccountRepository repository = Fixtures.withRoundTrip(ProductAccountRepository.class,
+                Fixtures.productAccountRepository(Fixtures.productAccounts(ACCOUNTS)),
+                TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        service = new ProductAccountService(repository, Fixtures.collectionVersions(), Fixtures.changeOutbox());
+        requested = new ArrayList<>(ids);
+        for (int i = 0; i < ids; i++) {
+            requested.add(i % 10 == 9 ? "MISSING" + i : String.format("PA%08d", i * 97 % ACCOUNTS));
+        }
+    }
+
+    @Benchmark
+    public List<ProductAccount> singleCalls() {
+        List<ProductAccount> productAccounts = new ArrayList<>(requested.size());
+        for (String id : requested) {
+            try {
+                productAccounts.add(service.obtainById(id));
+            } catch (CRUDException e) {
+                productAccounts.add(null);
+            }
+        }
+        return productAccounts;
+    }
+
+    @Benchmark
+    public List<ProductAccount> multiGet() {
+        return service.obtainByIds(requested);
+    }
+}
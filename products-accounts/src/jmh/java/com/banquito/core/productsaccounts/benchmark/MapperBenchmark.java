@@ -0,0 +1,61 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    private List<ProductAccount> productAccounts;
+    private List<InterestRate> interestRates;
+    private List<ProductAccountRQRS> productAccountsRQRS;
+
+    @Setup
+    public void setUp() {
+        productAccounts = Fixtures.productAccounts(size);
+        interestRates = Fixtures.interestRates(size);
+        productAccountsRQRS = ProductAccountMapper.mapToList(productAccounts);
+    }
+
+    @Benchmark
+    public List<ProductAccountRQRS> productAccountToRQRS() {
+        return ProductAccountMapper.mapToList(productAccounts);
+    }
+
+    @Benchmark
+    public List<ProductAccount> productAccountFromRQRS() {
+        return ProductAccountMapper.mapToProductAccountList(productAccountsRQRS);
+    }
+
+    @Benchmark
+    public List<InterestRateRQRS> interestRateToRQRS() {
+        return InterestRateMapper.mapToList(interestRates);
+    }
+}
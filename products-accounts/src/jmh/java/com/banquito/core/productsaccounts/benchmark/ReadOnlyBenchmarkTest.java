@@ -0,0 +1,131 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+import com.banquito.core.productsaccounts.service.ProductAccountService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares listing the active product accounts in a read-write transaction, where Hibernate keeps a
+ * snapshot of every entity and dirty-checks them on flush, with the read-only service path, reporting
+ * time, allocated bytes and Hibernate statistics of each.
+ *
+ * Run with: mvn -Pjmh test -Dtest=ReadOnlyBenchmarkTest -Dbenchmark.jdbc=true
+ * (override spring.datasource.* with -D if the database is not the local compose one).
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.jdbc", matches = "true")
+public class ReadOnlyBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+    @Autowired
+    private ProductAccountService productAccountService;
+
+    @Autowired
+    private ProductAccountRepository productAccountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<String> productAccountIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        List<ProductAccount> productAccounts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            ProductAccount productAccount = new ProductAccount();
+            productAccount.setId(String.format("RO%08d", i));
+            productAccount.setName("Benchmark " + i);
+            productAccount.setDescription("x".repeat(500));
+            productAccount.setMinimunBalance(BigDecimal.TEN);
+            productAccount.setPayInterest("N");
+            productAccount.setAcceptsChecks("N");
+            productAccount.setState("ACT");
+            productAccounts.add(productAccount);
+            productAccountIds.add(productAccount.getId());
+        }
+        productAccountService.createAll(productAccounts);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        statistics.setStatisticsEnabled(false);
+        productAccountRepository.deleteAllByIdInBatch(productAccountIds);
+    }
+
+    @Test
+    public void compareReadWriteWithReadOnlyLists() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Run managed = measure("read-write", () -> readWrite.execute(status -> entityManager
+                .createQuery("select p from ProductAccount p where p.state = :state", ProductAccount.class)
+                .setParameter("state", "ACT").getResultList()));
+        Run readOnly = measure("read-only", productAccountService::listAllActives);
+
+        Assertions.assertEquals(0, readOnly.flushes);
+        Assertions.assertTrue(readOnly.allocatedBytes < managed.allocatedBytes);
+    }
+
+    private Run measure(String name, Supplier<List<ProductAccount>> list) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        list.get();
+        statistics.clear();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            list.get();
+        }
+        Run run = new Run((System.nanoTime() - start) / ITERATIONS / 1_000_000d,
+                (threads.getCurrentThreadAllocatedBytes() - allocated) / ITERATIONS, statistics.getFlushCount());
+        log.info("{} list of {} accounts: {} ms, {} KB allocated, {} flushes, {} entity loads, slowest query {} ms",
+                name, ROWS, String.format("%.2f", run.millis), run.allocatedBytes / 1024, run.flushes,
+                statistics.getEntityLoadCount() / ITERATIONS, statistics.getQueryExecutionMaxTime());
+        return run;
+    }
+
+    private static final class Run {
+
+        private final double millis;
+        private final long allocatedBytes;
+        private final long flushes;
+
+        private Run(double millis, long allocatedBytes, long flushes) {
+            this.millis = millis;
+            this.allocatedBytes = allocatedBytes;
+            this.flushes = flushes;
+        }
+    }
+}
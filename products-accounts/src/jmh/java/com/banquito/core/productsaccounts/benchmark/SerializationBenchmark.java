@@ -0,0 +1,66 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ProductAccountRQRS> productAccounts;
+    private List<InterestRateRQRS> interestRates;
+    private byte[] productAccountsJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productAccounts = ProductAccountMapper.mapToList(Fixtures.productAccounts(size));
+        interestRates = InterestRateMapper.mapToList(Fixtures.interestRates(size));
+        productAccountsJson = objectMapper.writeValueAsBytes(productAccounts);
+    }
+
+    @Benchmark
+    public byte[] writeProductAccounts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productAccounts);
+    }
+
+    @Benchmark
+    public byte[] writeInterestRates() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(interestRates);
+    }
+
+    @Benchmark
+    public List<ProductAccountRQRS> readProductAccounts() throws Exception {
+        return objectMapper.readValue(productAccountsJson, new TypeReference<List<ProductAccountRQRS>>() {
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.banquito.core.productsaccounts.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.banquito.core.productsaccounts.service.CollectionVersions;
+import com.banquito.core.productsaccounts.service.InterestRateIndex;
+import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.service.ProductAccountService;
+
+/**
+ * Service layer over in-memory repositories: measures the code between the controller and the
+ * database (logging, caching, mapping) without any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({ "10", "1000" })
+    private int size;
+
+    private ProductAccountService productAccountService;
+    private InterestRateService interestRateService;
+
+    @Setup
+    public void setUp() {
+        productAccountService = new ProductAccountService(Fixtures.productAccountRepository(Fixtures.productAccounts(size)),
+                Fixtures.collectionVersions(), Fixtures.changeOutbox());
+        InterestRateRepository interestRateRepository = Fixtures.interestRateRepository(Fixtures.interestRates(size));
+        CollectionVersions versions = Fixtures.collectionVersions();
+        interestRateService = new InterestRateService(interestRateRepository, new InterestRateIndex(interestRateRepository, versions),
+                versions, Fixtures.changeOutbox());
+    }
+
+    @Benchmark
+    public List<ProductAccountRQRS> listProductAccounts() {
+        return ProductAccountMapper.mapToList(productAccountService.listAllActives());
+    }
+
+    @Benchmark
+    public ProductAccount obtainProductAccount() {
+        return productAccountService.obtainById("PA00000001");
+    }
+
+    @Benchmark
+    public List<InterestRate> listInterestRates() {
+        return interestRateService.listAllActives();
+    }
+
+    @Benchmark
+    public InterestRate obtainInterestRate() {
+        return interestRateService.obtainById(1);
+    }
+}
@@ -0,0 +1,16 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "accrual")
+@Data
+public class AccrualValues {
+
+    private int pageSize = 2000;
+    private int parallelism = 0;
+    private int splitThreshold = 512;
+}
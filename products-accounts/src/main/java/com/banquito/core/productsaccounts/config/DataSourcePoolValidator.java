@@ -0,0 +1,85 @@
+package com.banquito.core.productsaccounts.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks the pool against the server once all beans exist and before the web server accepts
+ * traffic: the pools of every instance plus the reserved connections must fit in the server
+ * max_connections. The settings themselves are checked earlier by {@link DataSourceSettingsValidator}.
+ * It also publishes {@code db.pool.saturation}: connections in use plus requests waiting for one,
+ * over the pool size. Above 1 requests are queueing for a connection.
+ */
+@Slf4j
+@Component
+public class DataSourcePoolValidator implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+    private final DataSourceValues values;
+    private final MeterRegistry meterRegistry;
+
+    public DataSourcePoolValidator(DataSource dataSource, DataSourceValues values, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.values = values;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        HikariDataSource hikari;
+        try {
+            hikari = this.dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            log.warn("Data source is not a Hikari pool, its size is not checked against the server");
+            return;
+        }
+        Gauge.builder("db.pool.saturation", hikari, DataSourcePoolValidator::saturation)
+                .description("Connections in use plus requests waiting for one, over the maximum pool size")
+                .tag("pool", String.valueOf(hikari.getPoolName()))
+                .register(this.meterRegistry);
+        if (!this.values.isValidateOnStartup()) {
+            return;
+        }
+        int maxConnections = this.maxConnections(hikari);
+        int demand = hikari.getMaximumPoolSize() * this.values.getInstances() + this.values.getReservedConnections();
+        if (maxConnections > 0 && demand > maxConnections) {
+            throw new IllegalStateException("Invalid data source settings: maximum-pool-size " + hikari.getMaximumPoolSize()
+                    + " x " + this.values.getInstances() + " instances + " + this.values.getReservedConnections()
+                    + " reserved exceeds the server max_connections " + maxConnections);
+        }
+        log.info("Data source pool {} fits the server: {} x {} instances + {} reserved of {} connections",
+                hikari.getPoolName(), hikari.getMaximumPoolSize(), this.values.getInstances(),
+                this.values.getReservedConnections(), maxConnections);
+    }
+
+    private int maxConnections(HikariDataSource hikari) {
+        try (Connection connection = hikari.getConnection(); Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SHOW max_connections")) {
+            return resultSet.next() ? Integer.parseInt(resultSet.getString(1)) : 0;
+        } catch (SQLException | NumberFormatException e) {
+            log.warn("Could not read max_connections to validate the pool size: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    static double saturation(HikariDataSource hikari) {
+        if (hikari.getHikariPoolMXBean() == null || hikari.getMaximumPoolSize() == 0) {
+            return 0;
+        }
+        return (hikari.getHikariPoolMXBean().getActiveConnections()
+                + hikari.getHikariPoolMXBean().getThreadsAwaitingConnection()) / (double) hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,94 @@
+package com.banquito.core.productsaccounts.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks the bound {@code spring.datasource.hikari.*} settings as soon as the pool bean is configured
+ * and before anything opens a connection. Hikari corrects some invalid values itself when the pool
+ * starts (a keepalive not below the max lifetime is turned off, a minimum idle above the maximum is
+ * lowered to it), so checking afterwards would miss them. Settings that cannot work fail the
+ * startup, the ones that only cost throughput are logged. Depends on the environment only, being a
+ * post processor created before the other beans.
+ */
+@Slf4j
+@Component
+public class DataSourceSettingsValidator implements BeanPostProcessor {
+
+    private static final long MIN_LEAK_DETECTION_MS = TimeUnit.SECONDS.toMillis(2);
+
+    private final Environment environment;
+
+    public DataSourceSettingsValidator(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource)) {
+            return bean;
+        }
+        DataSourceValues values = Binder.get(this.environment).bind("datasource", DataSourceValues.class)
+                .orElseGet(DataSourceValues::new);
+        if (!values.isValidateOnStartup()) {
+            return bean;
+        }
+        HikariDataSource hikari = (HikariDataSource) bean;
+        if (hikari.isRunning()) {
+            log.warn("Data source pool {} already started, its settings are not validated", hikari.getPoolName());
+            return bean;
+        }
+        int jdbcBatchSize = this.environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 1);
+        List<String> warnings = new ArrayList<>();
+        List<String> errors = validate(hikari, jdbcBatchSize, values, warnings);
+        warnings.forEach(warning -> log.warn("Data source setting: {}", warning));
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid data source settings: " + String.join("; ", errors));
+        }
+        log.info("Data source pool {} settings validated: max {} connections, min idle {}, connection timeout {} ms",
+                hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(), hikari.getConnectionTimeout());
+        return bean;
+    }
+
+    static List<String> validate(HikariConfig hikari, int jdbcBatchSize, DataSourceValues values,
+            List<String> warnings) {
+        List<String> errors = new ArrayList<>();
+        if (hikari.getMinimumIdle() > hikari.getMaximumPoolSize()) {
+            errors.add("minimum-idle " + hikari.getMinimumIdle() + " is above maximum-pool-size "
+                    + hikari.getMaximumPoolSize());
+        }
+        if (hikari.getMaxLifetime() > 0 && hikari.getKeepaliveTime() >= hikari.getMaxLifetime()) {
+            errors.add("keepalive-time " + hikari.getKeepaliveTime() + " ms must be below max-lifetime "
+                    + hikari.getMaxLifetime() + " ms");
+        }
+        if (hikari.getIdleTimeout() > 0 && hikari.getMaxLifetime() > 0 && hikari.getIdleTimeout() >= hikari.getMaxLifetime()) {
+            warnings.add("idle-timeout " + hikari.getIdleTimeout() + " ms is not below max-lifetime, it has no effect");
+        }
+        if (values.getInstances() < 1) {
+            errors.add("datasource.instances must be at least 1");
+        }
+        if (hikari.getLeakDetectionThreshold() > 0 && hikari.getLeakDetectionThreshold() < MIN_LEAK_DETECTION_MS) {
+            warnings.add("leak-detection-threshold below 2000 ms is ignored by Hikari");
+        }
+        String prepareThreshold = hikari.getDataSourceProperties().getProperty("prepareThreshold");
+        if (prepareThreshold != null && !prepareThreshold.matches("-?\\d+")) {
+            errors.add("prepareThreshold must be an integer: " + prepareThreshold);
+        }
+        if (jdbcBatchSize > 1 && !Boolean.parseBoolean(hikari.getDataSourceProperties().getProperty("reWriteBatchedInserts"))) {
+            warnings.add("JDBC batch size is " + jdbcBatchSize + " but reWriteBatchedInserts is off, "
+                    + "batched inserts are sent one statement at a time");
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,18 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "datasource")
+@Data
+public class DataSourceValues {
+
+    /** Instances sharing the database; all their pools together must fit in max_connections. */
+    private int instances = 1;
+    /** Connections kept free for superusers and maintenance (superuser_reserved_connections). */
+    private int reservedConnections = 3;
+    private boolean validateOnStartup = true;
+}
@@ -0,0 +1,19 @@
+package com.banquito.core.productsaccounts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "http.cache")
+@Data
+public class HttpCacheValues {
+
+    private boolean etagEnabled = true;
+    private boolean listCacheEnabled = true;
+    private String cacheControl = "no-cache";
+    private Duration versionMaxAge = Duration.ofSeconds(1);
+}
@@ -0,0 +1,19 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxValues {
+
+    private boolean publisherEnabled = true;
+    private long pollInterval = 1000;
+    private int batchSize = 500;
+    private int feedMaxLimit = 1000;
+    private long feedMaxWait = 30000;
+    private String fileSinkPath;
+}
@@ -0,0 +1,64 @@
+package com.banquito.core.productsaccounts.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.banquito.core.productsaccounts.controller.ETagInterceptor;
+import com.banquito.core.productsaccounts.controller.ListResponseCacheInterceptor;
+import com.banquito.core.productsaccounts.service.CollectionVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final Map<String, String> CATALOGUES = Map.of(
+            "/api/v1/productsaccounts", CollectionVersions.PRODUCT_ACCOUNTS,
+            "/api/v1/interestrates", CollectionVersions.INTEREST_RATES);
+
+    private final CollectionVersions versions;
+    private final HttpCacheValues httpCacheValues;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public WebConfig(CollectionVersions versions, HttpCacheValues httpCacheValues, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.versions = versions;
+        this.httpCacheValues = httpCacheValues;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (this.httpCacheValues.isEtagEnabled()) {
+            registry.addInterceptor(new ETagInterceptor(this.versions, this.httpCacheValues, CATALOGUES))
+                .addPathPatterns(CATALOGUES.keySet().toArray(new String[0]));
+        }
+        if (this.httpCacheValues.isListCacheEnabled()) {
+            registry.addInterceptor(new ListResponseCacheInterceptor(this.versions, this.objectMapper,
+                    this.meterRegistry, CATALOGUES))
+                .addPathPatterns(CATALOGUES.keySet().toArray(new String[0]));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.banquito.core.productsaccounts.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.exception.CRUDExceptionMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestControllerAdvice
+public class CRUDExceptionHandler {
+
+    @ExceptionHandler(CRUDException.class)
+    public ResponseEntity<?> handle(CRUDException e) {
+        CRUDExceptionMetrics.count(e);
+        log.error("Unhandled CRUD error: {}", e.getMessage());
+        return ResponseEntity.status(e.getErrorCode()).build();
+    }
+}
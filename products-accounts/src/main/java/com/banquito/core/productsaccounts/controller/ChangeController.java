@@ -0,0 +1,71 @@
+package com.banquito.core.productsaccounts.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.banquito.core.productsaccounts.config.OutboxValues;
+import com.banquito.core.productsaccounts.controller.dto.ChangeFeedRS;
+import com.banquito.core.productsaccounts.controller.mapper.ChangeMapper;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.service.ChangeFeed;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental sync of the catalogues: GET /changes?since=n returns the changes published after
+ * sequence n, and when there are none yet holds the request up to {@code wait} milliseconds until
+ * some are published. Consumers keep the returned {@code next} and ask again with it.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/changes")
+public class ChangeController {
+
+    private final ChangeFeed feed;
+    private final OutboxValues outboxValues;
+
+    public ChangeController(ChangeFeed feed, OutboxValues outboxValues) {
+        this.feed = feed;
+        this.outboxValues = outboxValues;
+    }
+
+    @GetMapping
+    public DeferredResult<ResponseEntity<ChangeFeedRS>> obtainChanges(@RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", defaultValue = "500") int limit,
+            @RequestParam(name = "wait", defaultValue = "0") long wait) {
+        DeferredResult<ResponseEntity<ChangeFeedRS>> result = new DeferredResult<>();
+        if (since < 0 || limit < 1 || limit > this.outboxValues.getFeedMaxLimit() || wait < 0) {
+            result.setResult(ResponseEntity.badRequest().build());
+            return result;
+        }
+        log.info("Going to return {} changes after sequence {}, waiting up to {} ms", limit, since, wait);
+        if (wait == 0) {
+            result.setResult(ResponseEntity.ok(ChangeMapper.mapToChangeFeedRS(since, this.feed.changesAfter(since, limit))));
+            return result;
+        }
+        CompletableFuture<List<ChangeEvent>> changes = this.feed.awaitChangesAfter(since, limit);
+        DeferredResult<ResponseEntity<ChangeFeedRS>> waiting = new DeferredResult<>(
+                Math.min(wait, this.outboxValues.getFeedMaxWait()));
+        waiting.onTimeout(() -> {
+            // changes published by another instance do not wake this request
+            this.feed.cancel(changes);
+            waiting.setResult(ResponseEntity.ok(ChangeMapper.mapToChangeFeedRS(since, this.feed.changesAfter(since, limit))));
+        });
+        waiting.onCompletion(() -> this.feed.cancel(changes));
+        changes.whenComplete((published, error) -> {
+            if (error != null) {
+                waiting.setErrorResult(error);
+            } else {
+                waiting.setResult(ResponseEntity.ok(ChangeMapper.mapToChangeFeedRS(since, published)));
+            }
+        });
+        return waiting;
+    }
+}
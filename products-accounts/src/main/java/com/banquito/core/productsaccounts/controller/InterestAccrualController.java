@@ -0,0 +1,60 @@
+package com.banquito.core.productsaccounts.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banquito.core.productsaccounts.controller.dto.AccrualRunRS;
+import com.banquito.core.productsaccounts.controller.mapper.AccrualMapper;
+import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.exception.CRUDExceptionMetrics;
+import com.banquito.core.productsaccounts.model.AccrualCheckpoint;
+import com.banquito.core.productsaccounts.service.InterestAccrualService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/accruals")
+public class InterestAccrualController {
+
+    private final InterestAccrualService service;
+
+    public InterestAccrualController(InterestAccrualService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    public ResponseEntity<AccrualRunRS> accrue(
+            @RequestParam(name = "date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            log.info("Going to accrue interest for {}", date);
+            AccrualCheckpoint checkpoint = this.service.start(date);
+            HttpStatus status = AccrualCheckpoint.FINISHED.equals(checkpoint.getState()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(AccrualMapper.mapToAccrualRunRS(checkpoint));
+        } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
+            log.error("Error at interest accrual: {}", e.getMessage(), e);
+            return ResponseEntity.status(e.getErrorCode()).build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<AccrualRunRS> obtainProgress(
+            @RequestParam(name = "date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(AccrualMapper.mapToAccrualRunRS(this.service.obtainProgress(date)));
+        } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
+            log.error("Error at obtain interest accrual progress: {}", e.getMessage());
+            return ResponseEntity.status(e.getErrorCode()).build();
+        }
+    }
+}
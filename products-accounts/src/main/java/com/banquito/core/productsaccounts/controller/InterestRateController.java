@@ -1,7 +1,9 @@
 package com.banquito.core.productsaccounts.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +12,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.banquito.core.productsaccounts.controller.dto.CacheStatsRS;
+import com.banquito.core.productsaccounts.controller.dto.LookupRS;
 import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.LookupMapper;
 import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.exception.CRUDExceptionMetrics;
 import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.service.InterestRateCache;
 import com.banquito.core.productsaccounts.service.InterestRateService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +32,8 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("/api/v1/interestrates")
 public class InterestRateController {
+
+    private static final int MAX_LOOKUP_SIZE = 500;
     
     private final InterestRateService service;
 
@@ -50,24 +60,72 @@ public class InterestRateController {
         }
     }
 
+    @GetMapping("/asof")
+    public ResponseEntity<InterestRateRQRS> obtainAsOf(@RequestParam(name = "name") String name,
+            @RequestParam(name = "date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            InterestRate interestRate = this.service.obtainAsOf(name, date);
+            return ResponseEntity.ok(InterestRateMapper.mapToInterestRateRQRS(interestRate));
+        } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
+            log.debug("No interest rate {} in effect on {}", name, date);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsRS> obtainCacheStats() {
+        InterestRateCache cache = this.service.getCache();
+        return ResponseEntity.ok(CacheStatsRS.builder()
+            .version(cache.getVersion())
+            .hits(cache.getHits())
+            .misses(cache.getMisses())
+            .evictions(cache.getEvictions()).build());
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupRS<InterestRateRQRS>> lookup(@RequestBody List<Integer> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_LOOKUP_SIZE || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Going to look up {} interest rates by id", ids.size());
+        List<InterestRate> interestRates = this.service.obtainByIds(ids);
+        return ResponseEntity.ok(LookupMapper.mapToLookupRS(ids, interestRates, InterestRateMapper::mapToInterestRateRQRS));
+    }
+
     @PostMapping
     public ResponseEntity<?> create(@RequestBody InterestRateRQRS interestrate) {
         try {
-            log.info("Going to create a interest rate with info: {}", interestrate);
+            log.info("Going to create a interest rate with name: {}", interestrate.getName());
             this.service.create(InterestRateMapper.mapToInterestRate(interestrate));
             return ResponseEntity.ok().build();
         } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
             log.error("Error at create interest rate: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<InterestRateRQRS> interestRates) {
+        try {
+            log.info("Going to create {} interest rates in batch", interestRates.size());
+            this.service.createAll(InterestRateMapper.mapToInterestRateList(interestRates));
+            return ResponseEntity.ok().build();
+        } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
+            log.error("Error at batch create interest rates: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public  ResponseEntity<InterestRateRQRS> update(@PathVariable(name="id") String id, @RequestBody InterestRateRQRS interestrate) {
         try {
-            this.service.update(Integer.parseInt(id), InterestRateMapper.mapToInterestRate(interestrate));
-            return ResponseEntity.ok(InterestRateMapper.mapToInterestRateRQRS(this.service.obtainById(Integer.parseInt(id))));
+            InterestRate updated = this.service.update(Integer.parseInt(id), InterestRateMapper.mapToInterestRate(interestrate));
+            return ResponseEntity.ok(InterestRateMapper.mapToInterestRateRQRS(updated));
         } catch (CRUDException e){
+            CRUDExceptionMetrics.count(e);
             log.error("Error at update interest rate: {}", e.getMessage(), e);
             return ResponseEntity.status(e.getErrorCode()).build();
         }
@@ -79,6 +137,7 @@ public class InterestRateController {
             this.service.inactivate(Integer.parseInt(id));
             return ResponseEntity.ok().build();
         } catch (CRUDException e){
+            CRUDExceptionMetrics.count(e);
             log.error("Error at delete interest rate: {}", e.getMessage(), e);
             return ResponseEntity.status(e.getErrorCode()).build();
         }
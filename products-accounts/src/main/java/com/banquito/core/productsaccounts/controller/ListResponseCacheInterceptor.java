@@ -0,0 +1,152 @@
+package com.banquito.core.productsaccounts.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.banquito.core.productsaccounts.service.CollectionVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the encoded JSON (and its gzip variant) of the catalogue list endpoints and writes those
+ * bytes straight to the response. An entry is tagged with the collection version it was built for;
+ * after a write the next request runs the controller method once, through its own handler, and
+ * encodes the result again. Requests that do not accept JSON (CBOR/Smile callers) or carry
+ * parameters go through the normal path.
+ */
+@Slf4j
+public class ListResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final CollectionVersions versions;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, String> collectionsByPath;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hits = new HashMap<>();
+    private final Map<String, Counter> misses = new HashMap<>();
+    private final Map<String, Timer> rebuilds = new HashMap<>();
+
+    public ListResponseCacheInterceptor(CollectionVersions versions, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, Map<String, String> collectionsByPath) {
+        this.versions = versions;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.collectionsByPath = collectionsByPath;
+        for (String collection : collectionsByPath.values()) {
+            this.hits.put(collection, meterRegistry.counter("http.list.cache", "collection", collection, "result", "hit"));
+            this.misses.put(collection, meterRegistry.counter("http.list.cache", "collection", collection, "result", "miss"));
+            this.rebuilds.put(collection, meterRegistry.timer("http.list.cache.rebuild", "collection", collection));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod)
+                || request.getQueryString() != null || !ContentNegotiation.acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String collection = this.collectionsByPath.get(request.getRequestURI());
+        if (collection == null || handlerMethod.getMethod().getParameterCount() != 0) {
+            return true;
+        }
+        Entry entry = this.entry(collection, handlerMethod);
+        if (entry == null) {
+            return true;
+        }
+        boolean gzip = ContentNegotiation.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = gzip ? entry.gzip : entry.json;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, ContentNegotiation.GZIP);
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            if (etag != null) {
+                response.setHeader(HttpHeaders.ETAG, ContentNegotiation.variant(etag, ContentNegotiation.GZIP));
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private Entry entry(String collection, HandlerMethod handlerMethod) throws Exception {
+        long version = this.versions.getVersion(collection);
+        Entry entry = this.entries.get(collection);
+        if (entry != null && entry.version == version) {
+            this.hits.get(collection).increment();
+            return entry;
+        }
+        synchronized (this.entries) {
+            entry = this.entries.get(collection);
+            if (entry != null && entry.version == version) {
+                this.hits.get(collection).increment();
+                return entry;
+            }
+            this.misses.get(collection).increment();
+            Timer.Sample sample = Timer.start(this.meterRegistry);
+            Object body = invoke(handlerMethod);
+            if (body == null) {
+                return null;
+            }
+            byte[] json = this.objectMapper.writeValueAsBytes(body);
+            entry = new Entry(version, json, gzip(json));
+            this.entries.put(collection, entry);
+            sample.stop(this.rebuilds.get(collection));
+            log.debug("List response cache for {} rebuilt at version {}: {} bytes, {} gzipped", collection, version,
+                    json.length, entry.gzip.length);
+            return entry;
+        }
+    }
+
+    private static Object invoke(HandlerMethod handlerMethod) throws Exception {
+        Method method = handlerMethod.getMethod();
+        Object result = method.invoke(handlerMethod.getBean());
+        if (result instanceof ResponseEntity) {
+            ResponseEntity<?> responseEntity = (ResponseEntity<?>) result;
+            return responseEntity.getStatusCode().value() == HttpServletResponse.SC_OK ? responseEntity.getBody() : null;
+        }
+        return result;
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Entry(long version, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+        }
+    }
+}
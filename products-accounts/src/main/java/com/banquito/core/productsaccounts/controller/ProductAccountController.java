@@ -1,6 +1,8 @@
 package com.banquito.core.productsaccounts.controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +10,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.banquito.core.productsaccounts.controller.dto.CursorPageRS;
+import com.banquito.core.productsaccounts.controller.dto.LookupRS;
 import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.CursorMapper;
+import com.banquito.core.productsaccounts.controller.mapper.FieldsMapper;
+import com.banquito.core.productsaccounts.controller.mapper.LookupMapper;
 import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.exception.CRUDExceptionMetrics;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 import com.banquito.core.productsaccounts.service.ProductAccountService;
 
@@ -22,6 +31,11 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("/api/v1/productsaccounts")
 public class ProductAccountController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_LOOKUP_SIZE = 500;
+    private static final Set<String> FIELDS = Set.of("id", "name", "description", "minimunBalance", "payInterest",
+            "acceptsChecks", "interestRateName", "state");
     
     private final ProductAccountService service;
 
@@ -37,6 +51,43 @@ public class ProductAccountController {
         return ResponseEntity.ok(ProductAccountMapper.mapToList(productAccounts));
     }
 
+    @GetMapping(params = { "fields", "!size" })
+    public ResponseEntity<List<Map<String, Object>>> obtainAllFields(@RequestParam(name = "fields") String fields) {
+        List<String> attributes;
+        try {
+            attributes = FieldsMapper.parse(fields, FIELDS);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid products accounts fields: {}", fields);
+            return ResponseEntity.badRequest().build();
+        }
+        List<Map<String, Object>> productAccounts = this.service.listAllActives(attributes);
+        log.info("Returning {} active products accounts with fields {}", productAccounts.size(), attributes);
+        return ResponseEntity.ok(productAccounts);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<CursorPageRS<ProductAccountRQRS>> obtainPage(@RequestParam(name = "size") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        String afterId;
+        try {
+            afterId = CursorMapper.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid products accounts cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+        List<ProductAccount> productAccounts = this.service.listActivesPage(afterId, size);
+        log.info("Returning page of {} active products accounts", productAccounts.size());
+        String nextCursor = productAccounts.size() < size ? null
+                : CursorMapper.encode(productAccounts.get(productAccounts.size() - 1).getId());
+        return ResponseEntity.ok(CursorPageRS.<ProductAccountRQRS>builder()
+            .items(ProductAccountMapper.mapToList(productAccounts))
+            .size(productAccounts.size())
+            .nextCursor(nextCursor).build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductAccountRQRS> obtainByCode(@PathVariable(name = "id") String id) {
         log.info("Going to find product account by id: {}", id);
@@ -48,15 +99,39 @@ public class ProductAccountController {
         }
     }
 
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupRS<ProductAccountRQRS>> lookup(@RequestBody List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_LOOKUP_SIZE || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Going to look up {} products accounts by id", ids.size());
+        List<ProductAccount> productAccounts = this.service.obtainByIds(ids);
+        return ResponseEntity.ok(LookupMapper.mapToLookupRS(ids, productAccounts, ProductAccountMapper::mapToProductAccountRQRS));
+    }
+
     @PostMapping
     public ResponseEntity<?> create(@RequestBody ProductAccountRQRS productAccount) {
         try {
-            log.info("Going to create a product account with info: {}", productAccount);
+            log.info("Going to create a product account with id: {}", productAccount.getId());
             this.service.create(ProductAccountMapper.mapToProductAccount(productAccount));
             return ResponseEntity.ok().build();
         } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
             log.error("Error at create product account: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<ProductAccountRQRS> productAccounts) {
+        try {
+            log.info("Going to create {} products accounts in batch", productAccounts.size());
+            this.service.createAll(ProductAccountMapper.mapToProductAccountList(productAccounts));
+            return ResponseEntity.ok().build();
+        } catch (CRUDException e) {
+            CRUDExceptionMetrics.count(e);
+            log.error("Error at batch create products accounts: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.time.LocalDate;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AccrualRunRS {
+
+    private LocalDate accrualDate;
+    private String state;
+    private String lastAccountId;
+    private long processed;
+    private long skipped;
+
+}
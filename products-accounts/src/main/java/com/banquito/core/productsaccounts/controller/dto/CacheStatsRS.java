@@ -0,0 +1,15 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsRS {
+
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+}
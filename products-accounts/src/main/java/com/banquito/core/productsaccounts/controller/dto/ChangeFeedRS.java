@@ -0,0 +1,15 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ChangeFeedRS {
+
+    private List<ChangeRS> changes;
+    private Long next;
+
+}
@@ -0,0 +1,21 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ChangeRS {
+
+    private Long sequence;
+    private String aggregateType;
+    private String aggregateId;
+    private String operation;
+    private Date createdAt;
+    private JsonNode payload;
+
+}
@@ -3,11 +3,15 @@ package com.banquito.core.productsaccounts.controller.dto;
 import java.math.BigDecimal;
 import java.util.Date;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class InterestRateRQRS {
     
     private Integer id;
@@ -0,0 +1,17 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LookupItemRS<T> {
+
+    public static final String FOUND = "FOUND";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private String id;
+    private String status;
+    private T item;
+
+}
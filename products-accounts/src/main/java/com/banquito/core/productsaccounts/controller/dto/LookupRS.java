@@ -0,0 +1,16 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LookupRS<T> {
+
+    private int found;
+    private int missing;
+    private List<LookupItemRS<T>> items;
+
+}
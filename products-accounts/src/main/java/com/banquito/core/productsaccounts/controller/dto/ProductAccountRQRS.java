@@ -2,11 +2,15 @@ package com.banquito.core.productsaccounts.controller.dto;
 
 import java.math.BigDecimal;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductAccountRQRS {
     
     private String id;
@@ -15,6 +19,7 @@ public class ProductAccountRQRS {
     private BigDecimal minimunBalance;
     private String payInterest;
     private String acceptsChecks;
+    private String interestRateName;
     private String state;
 
 }
@@ -0,0 +1,16 @@
+package com.banquito.core.productsaccounts.controller.mapper;
+
+import com.banquito.core.productsaccounts.controller.dto.AccrualRunRS;
+import com.banquito.core.productsaccounts.model.AccrualCheckpoint;
+
+public class AccrualMapper {
+
+    public static AccrualRunRS mapToAccrualRunRS(AccrualCheckpoint checkpoint) {
+        return AccrualRunRS.builder()
+            .accrualDate(checkpoint.getAccrualDate())
+            .state(checkpoint.getState())
+            .lastAccountId(checkpoint.getLastId())
+            .processed(checkpoint.getProcessed())
+            .skipped(checkpoint.getSkipped()).build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.banquito.core.productsaccounts.controller.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.banquito.core.productsaccounts.controller.dto.ChangeFeedRS;
+import com.banquito.core.productsaccounts.controller.dto.ChangeRS;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Maps published changes to a feed page. The stored JSON payload is parsed back into a tree so it is
+ * embedded as an object in any of the negotiated formats. {@code next} is the sequence to ask for
+ * after this page, or the requested one when the page is empty.
+ */
+public class ChangeMapper {
+
+    private static final ObjectMapper PAYLOAD_READER = new ObjectMapper();
+
+    public static ChangeFeedRS mapToChangeFeedRS(long since, List<ChangeEvent> changes) {
+        List<ChangeRS> changesRS = new ArrayList<>(changes.size());
+        for (ChangeEvent change : changes) {
+            changesRS.add(mapToChangeRS(change));
+        }
+        return ChangeFeedRS.builder()
+            .changes(changesRS)
+            .next(changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence()).build();
+    }
+
+    public static ChangeRS mapToChangeRS(ChangeEvent change) {
+        try {
+            return ChangeRS.builder()
+                .sequence(change.getSequence())
+                .aggregateType(change.getAggregateType())
+                .aggregateId(change.getAggregateId())
+                .operation(change.getOperation())
+                .createdAt(change.getCreatedAt())
+                .payload(PAYLOAD_READER.readTree(change.getPayload())).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Change " + change.getSequence() + " has an invalid payload", e);
+        }
+    }
+}
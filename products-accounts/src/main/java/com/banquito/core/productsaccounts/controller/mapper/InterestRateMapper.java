@@ -38,4 +38,14 @@ public class InterestRateMapper {
         interestRate.setState(interestRateRQRS.getState());
         return interestRate;
     }
+
+    public static List<InterestRate> mapToInterestRateList(List<InterestRateRQRS> interestRatesRQRS) {
+        List<InterestRate> interestRates = new ArrayList<>();
+        if (interestRatesRQRS!=null) {
+            for (InterestRateRQRS interestRateRQRS : interestRatesRQRS) {
+                interestRates.add(mapToInterestRate(interestRateRQRS));
+            }
+        }
+        return interestRates;
+    }
 }
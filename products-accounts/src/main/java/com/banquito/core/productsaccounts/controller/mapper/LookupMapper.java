@@ -0,0 +1,34 @@
+package com.banquito.core.productsaccounts.controller.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.banquito.core.productsaccounts.controller.dto.LookupItemRS;
+import com.banquito.core.productsaccounts.controller.dto.LookupRS;
+
+/**
+ * Builds a multi-get response from the requested ids and the entities resolved for them, position
+ * by position, marking the ids that have no entity as not found.
+ */
+public class LookupMapper {
+
+    public static <E, T> LookupRS<T> mapToLookupRS(List<?> ids, List<E> entities, Function<E, T> mapper) {
+        int found = 0;
+        List<LookupItemRS<T>> items = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            E entity = entities.get(i);
+            if (entity != null) {
+                found++;
+            }
+            items.add(LookupItemRS.<T>builder()
+                .id(String.valueOf(ids.get(i)))
+                .status(entity != null ? LookupItemRS.FOUND : LookupItemRS.NOT_FOUND)
+                .item(entity != null ? mapper.apply(entity) : null).build());
+        }
+        return LookupRS.<T>builder()
+            .found(found)
+            .missing(ids.size() - found)
+            .items(items).build();
+    }
+}
@@ -15,6 +15,7 @@ public class ProductAccountMapper {
             .name(productAccount.getName())
             .description(productAccount.getDescription())
             .minimunBalance(productAccount.getMinimunBalance())
+            .interestRateName(productAccount.getInterestRateName())
             .state(productAccount.getState())
             .payInterest(productAccount.getPayInterest())
             .build();
@@ -37,8 +38,19 @@ public class ProductAccountMapper {
         productAccount.setName(productAccountRQRS.getName());
         productAccount.setDescription(productAccountRQRS.getDescription());
         productAccount.setMinimunBalance(productAccountRQRS.getMinimunBalance());
+        productAccount.setInterestRateName(productAccountRQRS.getInterestRateName());
         productAccount.setState(productAccountRQRS.getState());
         productAccount.setPayInterest(productAccountRQRS.getPayInterest());
         return productAccount;
     }
+
+    public static List<ProductAccount> mapToProductAccountList(List<ProductAccountRQRS> productAccountsRQRS) {
+        List<ProductAccount> productAccounts = new ArrayList<>();
+        if (productAccountsRQRS!=null) {
+            for (ProductAccountRQRS productAccountRQRS : productAccountsRQRS) {
+                productAccounts.add(mapToProductAccount(productAccountRQRS));
+            }
+        }
+        return productAccounts;
+    }
 }
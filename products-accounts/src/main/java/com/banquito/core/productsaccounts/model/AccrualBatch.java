@@ -0,0 +1,57 @@
+package com.banquito.core.productsaccounts.model;
+
+import lombok.Getter;
+
+/**
+ * One page of accounts to accrue, kept as parallel primitive arrays so the calculation does not
+ * allocate per account. Balances are in cents, rates in parts per million and interest in
+ * millionths of the currency unit.
+ */
+@Getter
+public class AccrualBatch {
+
+    public static final int NO_RATE = Integer.MIN_VALUE;
+
+    private final String[] accountIds;
+    private final String[] rateNames;
+    private final long[] balanceCents;
+    private final int[] rateIds;
+    private final long[] ratePpm;
+    private final long[] interestMicros;
+    private int size;
+
+    public AccrualBatch(int capacity) {
+        this.accountIds = new String[capacity];
+        this.rateNames = new String[capacity];
+        this.balanceCents = new long[capacity];
+        this.rateIds = new int[capacity];
+        this.ratePpm = new long[capacity];
+        this.interestMicros = new long[capacity];
+    }
+
+    public void add(String accountId, String rateName, long balanceCents) {
+        this.accountIds[this.size] = accountId;
+        this.rateNames[this.size] = rateName;
+        this.balanceCents[this.size] = balanceCents;
+        this.rateIds[this.size] = NO_RATE;
+        this.size++;
+    }
+
+    public boolean isAccrued(int position) {
+        return this.rateIds[position] != NO_RATE;
+    }
+
+    public int countAccrued() {
+        int accrued = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (this.isAccrued(i)) {
+                accrued++;
+            }
+        }
+        return accrued;
+    }
+
+    public String getLastAccountId() {
+        return this.size == 0 ? null : this.accountIds[this.size - 1];
+    }
+}
@@ -0,0 +1,30 @@
+package com.banquito.core.productsaccounts.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the accrual run of a day, stored in ACCRUAL_CHECKPOINT after every page so an
+ * interrupted run resumes after the last committed account.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccrualCheckpoint {
+
+    public static final String RUNNING = "RUN";
+    public static final String FINISHED = "END";
+
+    private LocalDate accrualDate;
+    private String lastId;
+    private long processed;
+    private long skipped;
+    private String state;
+    // not stored, accounts processed by the current invocation
+    private long processedInRun;
+}
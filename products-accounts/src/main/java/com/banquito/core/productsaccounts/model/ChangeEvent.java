@@ -0,0 +1,34 @@
+package com.banquito.core.productsaccounts.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A catalogue change stored in CHANGE_OUTBOX by the transaction that made it. The payload is the
+ * changed row as the API returns it, in JSON; the sequence is null until the change is published.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    public static final String PRODUCT_ACCOUNT = "PRODUCT_ACCOUNT";
+    public static final String INTEREST_RATE = "INTEREST_RATE";
+
+    public static final String CREATED = "CRE";
+    public static final String UPDATED = "UPD";
+    public static final String INACTIVATED = "INA";
+
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private String operation;
+    private String payload;
+    private Date createdAt;
+    private Long sequence;
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
@@ -21,7 +22,8 @@ import lombok.NoArgsConstructor;
 public class InterestRate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interestRateSeq")
+    @SequenceGenerator(name = "interestRateSeq", sequenceName = "INTEREST_RATE_ID_INTEREST_RATE_SEQ", allocationSize = 50)
     @Column(name = "ID_INTEREST_RATE", nullable = false)
     private Integer id;
     @Column(name = "NAME", length = 50, nullable = false)
@@ -31,6 +31,8 @@ public class ProductAccount {
     private String payInterest;
     @Column(name = "ACCEPTS_CHECKS", length = 1, nullable = false)
     private String acceptsChecks;
+    @Column(name = "INTEREST_RATE_NAME", length = 50)
+    private String interestRateName;
     @Column(name = "STATE", length = 3, nullable = false)
     private String state;
     @Temporal(TemporalType.TIMESTAMP)
@@ -0,0 +1,12 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.util.List;
+
+public interface BatchInsertRepository<T> {
+
+    /**
+     * Persists new entities without the existence check done by save(), flushing every JDBC batch
+     * so Hibernate can group the INSERT statements.
+     */
+    void insertAll(List<T> entities);
+}
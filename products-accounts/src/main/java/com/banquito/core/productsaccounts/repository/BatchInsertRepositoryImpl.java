@@ -0,0 +1,34 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import jakarta.persistence.EntityManager;
+
+public class BatchInsertRepositoryImpl<T> implements BatchInsertRepository<T> {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BatchInsertRepositoryImpl(EntityManager entityManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<T> entities) {
+        int pending = 0;
+        for (T entity : entities) {
+            this.entityManager.persist(entity);
+            if (++pending == this.batchSize) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+                pending = 0;
+            }
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+}
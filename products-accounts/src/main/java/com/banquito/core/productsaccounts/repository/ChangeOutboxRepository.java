@@ -0,0 +1,134 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+
+/**
+ * Plain JDBC access to CHANGE_OUTBOX and COLLECTION_VERSION. Changes are inserted by the catalogue
+ * writes, which also increment the version of their collection, then locked, numbered and marked
+ * published by the publisher, and read back by sequence for the change feed.
+ */
+@Repository
+public class ChangeOutboxRepository {
+
+    // any constant shared by all instances; only the holder of this lock publishes
+    private static final long PUBLISHER_LOCK = 0x6f7574626f78L;
+
+    private static final String COLUMNS = "ID_CHANGE, AGGREGATE_TYPE, AGGREGATE_ID, OPERATION, PAYLOAD, CREATED_AT, SEQUENCE";
+    private static final String INSERT_CHANGE = "INSERT INTO CHANGE_OUTBOX "
+            + "(AGGREGATE_TYPE, AGGREGATE_ID, OPERATION, PAYLOAD) VALUES (?, ?, ?, ?)";
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final String SELECT_PENDING = "SELECT " + COLUMNS + " FROM CHANGE_OUTBOX "
+            + "WHERE SEQUENCE IS NULL ORDER BY ID_CHANGE LIMIT ?";
+    private static final String SELECT_LAST_SEQUENCE = "SELECT COALESCE(MAX(SEQUENCE), 0) FROM CHANGE_OUTBOX";
+    private static final String INCREMENT_VERSION = "INSERT INTO COLLECTION_VERSION (AGGREGATE_TYPE, VERSION) VALUES (?, 1) "
+            + "ON CONFLICT (AGGREGATE_TYPE) DO UPDATE SET VERSION = COLLECTION_VERSION.VERSION + 1 RETURNING VERSION";
+    private static final String SELECT_VERSION = "SELECT VERSION FROM COLLECTION_VERSION WHERE AGGREGATE_TYPE = ?";
+    private static final String UPDATE_PUBLISHED = "UPDATE CHANGE_OUTBOX SET SEQUENCE = ?, PUBLISHED_AT = now() "
+            + "WHERE ID_CHANGE = ?";
+    private static final String SELECT_PUBLISHED = "SELECT " + COLUMNS + " FROM CHANGE_OUTBOX "
+            + "WHERE SEQUENCE > ? ORDER BY SEQUENCE LIMIT ?";
+
+    private static final RowMapper<ChangeEvent> CHANGE_MAPPER = ChangeOutboxRepository::mapChange;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<ChangeEvent> changes) {
+        this.jdbcTemplate.batchUpdate(INSERT_CHANGE, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ChangeEvent change = changes.get(i);
+                ps.setString(1, change.getAggregateType());
+                ps.setString(2, change.getAggregateId());
+                ps.setString(3, change.getOperation());
+                ps.setString(4, change.getPayload());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+
+    /**
+     * Takes the publisher lock for the current transaction; false when another instance holds it.
+     */
+    public boolean tryLockPublisher() {
+        return Boolean.TRUE.equals(this.jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, PUBLISHER_LOCK));
+    }
+
+    public List<ChangeEvent> findPending(int limit) {
+        return this.jdbcTemplate.query(SELECT_PENDING, CHANGE_MAPPER, limit);
+    }
+
+    public long findLastSequence() {
+        Long sequence = this.jdbcTemplate.queryForObject(SELECT_LAST_SEQUENCE, Long.class);
+        return sequence == null ? 0 : sequence;
+    }
+
+    /**
+     * Increments the version of an aggregate type inside the current transaction and returns it. The
+     * row stays locked until the transaction ends, so concurrent writers of the type commit in
+     * version order.
+     */
+    public long incrementVersion(String aggregateType) {
+        Long version = this.jdbcTemplate.queryForObject(INCREMENT_VERSION, Long.class, aggregateType);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Committed version of an aggregate type; 0 before its first write.
+     */
+    public long findVersion(String aggregateType) {
+        List<Long> versions = this.jdbcTemplate.queryForList(SELECT_VERSION, Long.class, aggregateType);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    public void markPublished(List<ChangeEvent> changes) {
+        this.jdbcTemplate.batchUpdate(UPDATE_PUBLISHED, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ChangeEvent change = changes.get(i);
+                ps.setLong(1, change.getSequence());
+                ps.setLong(2, change.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+
+    public List<ChangeEvent> findPublishedAfter(long sequence, int limit) {
+        return this.jdbcTemplate.query(SELECT_PUBLISHED, CHANGE_MAPPER, sequence, limit);
+    }
+
+    private static ChangeEvent mapChange(ResultSet rs, int rowNum) throws SQLException {
+        long sequence = rs.getLong(7);
+        return ChangeEvent.builder()
+            .id(rs.getLong(1))
+            .aggregateType(rs.getString(2))
+            .aggregateId(rs.getString(3))
+            .operation(rs.getString(4))
+            .payload(rs.getString(5))
+            .createdAt(rs.getTimestamp(6))
+            .sequence(rs.wasNull() ? null : sequence).build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface FieldProjectionRepository {
+
+    /**
+     * Selects only the given attributes of the entities in the given state, ordered by id. Rows come
+     * back as tuples in attribute order, so no entity is instantiated nor tracked by the persistence
+     * context.
+     */
+    List<Map<String, Object>> findFieldsByState(Class<?> entityType, String state, List<String> attributes);
+}
@@ -0,0 +1,99 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.banquito.core.productsaccounts.model.AccrualBatch;
+import com.banquito.core.productsaccounts.model.AccrualCheckpoint;
+
+/**
+ * Plain JDBC access for the accrual batch: accounts are read by keyset pages straight into an
+ * {@link AccrualBatch} (balances already scaled to cents by the database) and results are written
+ * with a single JDBC batch per page.
+ */
+@Repository
+public class InterestAccrualRepository {
+
+    private static final String SELECT_PAGE = "SELECT ID_PRODUCT_ACCOUNT, INTEREST_RATE_NAME, "
+            + "CAST(ROUND(MINIMUN_BALANCE * 100) AS BIGINT) AS BALANCE_CENTS FROM PRODUCT_ACCOUNT "
+            + "WHERE STATE = 'ACT' AND PAY_INTEREST = 'Y' AND ID_PRODUCT_ACCOUNT > ? "
+            + "ORDER BY ID_PRODUCT_ACCOUNT LIMIT ?";
+    private static final String INSERT_ACCRUAL = "INSERT INTO INTEREST_ACCRUAL "
+            + "(ACCRUAL_DATE, ID_PRODUCT_ACCOUNT, ID_INTEREST_RATE, RATE_PPM, BALANCE_CENTS, INTEREST_MICROS) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (ACCRUAL_DATE, ID_PRODUCT_ACCOUNT) DO NOTHING";
+    private static final String SELECT_CHECKPOINT = "SELECT LAST_ID, PROCESSED, SKIPPED, STATE "
+            + "FROM ACCRUAL_CHECKPOINT WHERE ACCRUAL_DATE = ?";
+    private static final String UPSERT_CHECKPOINT = "INSERT INTO ACCRUAL_CHECKPOINT "
+            + "(ACCRUAL_DATE, LAST_ID, PROCESSED, SKIPPED, STATE, UPDATED_AT) VALUES (?, ?, ?, ?, ?, now()) "
+            + "ON CONFLICT (ACCRUAL_DATE) DO UPDATE SET LAST_ID = EXCLUDED.LAST_ID, PROCESSED = EXCLUDED.PROCESSED, "
+            + "SKIPPED = EXCLUDED.SKIPPED, STATE = EXCLUDED.STATE, UPDATED_AT = EXCLUDED.UPDATED_AT";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestAccrualRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public AccrualBatch findPage(String afterId, int size) {
+        AccrualBatch batch = new AccrualBatch(size);
+        this.jdbcTemplate.query(SELECT_PAGE,
+                rs -> {
+                    batch.add(rs.getString(1), rs.getString(2), rs.getLong(3));
+                },
+                afterId, size);
+        return batch;
+    }
+
+    public int insertAll(LocalDate accrualDate, AccrualBatch batch) {
+        int[] positions = new int[batch.countAccrued()];
+        for (int i = 0, p = 0; i < batch.getSize(); i++) {
+            if (batch.isAccrued(i)) {
+                positions[p++] = i;
+            }
+        }
+        Date date = Date.valueOf(accrualDate);
+        this.jdbcTemplate.batchUpdate(INSERT_ACCRUAL, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int position = positions[i];
+                ps.setDate(1, date);
+                ps.setString(2, batch.getAccountIds()[position]);
+                ps.setInt(3, batch.getRateIds()[position]);
+                ps.setLong(4, batch.getRatePpm()[position]);
+                ps.setLong(5, batch.getBalanceCents()[position]);
+                ps.setLong(6, batch.getInterestMicros()[position]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return positions.length;
+            }
+        });
+        return positions.length;
+    }
+
+    public AccrualCheckpoint findCheckpoint(LocalDate accrualDate) {
+        List<AccrualCheckpoint> checkpoints = this.jdbcTemplate.query(SELECT_CHECKPOINT,
+                (rs, rowNum) -> AccrualCheckpoint.builder()
+                    .accrualDate(accrualDate)
+                    .lastId(rs.getString(1))
+                    .processed(rs.getLong(2))
+                    .skipped(rs.getLong(3))
+                    .state(rs.getString(4)).build(),
+                Date.valueOf(accrualDate));
+        return checkpoints.isEmpty() ? null : checkpoints.get(0);
+    }
+
+    public void saveCheckpoint(AccrualCheckpoint checkpoint) {
+        this.jdbcTemplate.update(UPSERT_CHECKPOINT, Date.valueOf(checkpoint.getAccrualDate()), checkpoint.getLastId(),
+                checkpoint.getProcessed(), checkpoint.getSkipped(), checkpoint.getState());
+    }
+}
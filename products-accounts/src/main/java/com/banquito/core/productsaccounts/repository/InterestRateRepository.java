@@ -1,12 +1,39 @@
 package com.banquito.core.productsaccounts.repository;
 
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 import com.banquito.core.productsaccounts.model.InterestRate;
 
-public interface InterestRateRepository extends JpaRepository<InterestRate, Integer>{
+public interface InterestRateRepository extends JpaRepository<InterestRate, Integer>, BatchInsertRepository<InterestRate> {
     
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL") })
     List<InterestRate> findByState(String state);
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    List<InterestRate> findByName(String name);
+
+    @Transactional
+    @Query(value = "UPDATE INTEREST_RATE SET NAME = :name, INTEREST_RATE = :interestRate "
+            + "WHERE ID_INTEREST_RATE = :id RETURNING *", nativeQuery = true)
+    Optional<InterestRate> updateReturning(@Param("id") Integer id, @Param("name") String name,
+            @Param("interestRate") BigDecimal interestRate);
+
+    @Transactional
+    @Query(value = "UPDATE INTEREST_RATE SET STATE = 'INA', END_DATE = :end "
+            + "WHERE ID_INTEREST_RATE = :id RETURNING *", nativeQuery = true)
+    Optional<InterestRate> inactivateReturning(@Param("id") Integer id, @Param("end") Date end);
 }
@@ -2,11 +2,23 @@ package com.banquito.core.productsaccounts.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 import com.banquito.core.productsaccounts.model.ProductAccount;
 
-public interface ProductAccountRepository extends JpaRepository<ProductAccount, String>{
+public interface ProductAccountRepository extends JpaRepository<ProductAccount, String>, BatchInsertRepository<ProductAccount>,
+        FieldProjectionRepository {
     
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL") })
     List<ProductAccount> findByState(String state);
+
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    List<ProductAccount> findByStateAndIdGreaterThanOrderByIdAsc(String state, String id, Pageable pageable);
 }
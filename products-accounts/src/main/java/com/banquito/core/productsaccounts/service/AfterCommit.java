@@ -0,0 +1,29 @@
+package com.banquito.core.productsaccounts.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs a side effect of a write (cache eviction, index refresh, version bump) once the surrounding
+ * transaction has committed, or right away when there is none. Done earlier, a concurrent reader
+ * could reload the old rows and publish them again as current.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Published changes after a sequence, for consumers that sync incrementally.
+ *
+ * Also the in-process sink: a reader that finds nothing new waits, and the batch published by this
+ * instance completes it once committed, without another query when the batch starts right after the
+ * reader's sequence. Batches published by other instances do not wake it; the caller queries again
+ * when its wait expires.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ChangeFeed implements ChangeSink {
+
+    private final ChangeOutboxRepository repository;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastSequence = new AtomicLong();
+
+    public ChangeFeed(ChangeOutboxRepository repository) {
+        this.repository = repository;
+    }
+
+    public List<ChangeEvent> changesAfter(long since, int limit) {
+        log.debug("Looking {} changes after sequence {}", limit, since);
+        return this.repository.findPublishedAfter(since, limit);
+    }
+
+    /**
+     * Completes with the changes after {@code since} right away when there are some, otherwise when
+     * this instance publishes them. Pass the future to {@link #cancel} when giving up on it.
+     */
+    public CompletableFuture<List<ChangeEvent>> awaitChangesAfter(long since, int limit) {
+        List<ChangeEvent> changes = this.changesAfter(since, limit);
+        if (!changes.isEmpty()) {
+            return CompletableFuture.completedFuture(changes);
+        }
+        Waiter waiter = new Waiter(since, limit);
+        this.waiters.add(waiter);
+        if (this.lastSequence.get() > since && this.waiters.remove(waiter)) {
+            // published between the query and the registration
+            waiter.future.complete(this.changesAfter(since, limit));
+        }
+        return waiter.future;
+    }
+
+    public void cancel(CompletableFuture<List<ChangeEvent>> future) {
+        this.waiters.removeIf(waiter -> waiter.future == future);
+    }
+
+    public int getWaiting() {
+        return this.waiters.size();
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> changes) {
+        List<ChangeEvent> published = List.copyOf(changes);
+        AfterCommit.run(() -> this.wake(published));
+    }
+
+    private void wake(List<ChangeEvent> changes) {
+        long first = changes.get(0).getSequence();
+        this.lastSequence.accumulateAndGet(changes.get(changes.size() - 1).getSequence(), Math::max);
+        for (Waiter waiter : this.waiters) {
+            if (waiter.since >= first + changes.size() - 1 || !this.waiters.remove(waiter)) {
+                continue;
+            }
+            if (waiter.since >= first - 1) {
+                int from = (int) (waiter.since - first + 1);
+                waiter.future.complete(new ArrayList<>(changes.subList(from, Math.min(changes.size(), from + waiter.limit))));
+            } else {
+                // the reader missed earlier batches, published before it started waiting or by another instance
+                try {
+                    waiter.future.complete(this.repository.findPublishedAfter(waiter.since, waiter.limit));
+                } catch (RuntimeException e) {
+                    waiter.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long since;
+        private final int limit;
+        private final CompletableFuture<List<ChangeEvent>> future = new CompletableFuture<>();
+
+        private Waiter(long since, int limit) {
+            this.since = since;
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records catalogue changes in the outbox table. Must be called inside the transaction of the write,
+ * so a change is stored if and only if the write commits; publishing is left to {@link ChangePublisher}.
+ * It also increments the version of the collection in the same transaction, see {@link CollectionVersions}.
+ */
+@Component
+public class ChangeOutbox {
+
+    private final ChangeOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public ChangeOutbox(ChangeOutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void record(String aggregateType, String operation, Object aggregateId, Object row) {
+        this.recordAll(aggregateType, operation, List.of(row), changed -> aggregateId);
+    }
+
+    public <T> void recordAll(String aggregateType, String operation, List<T> rows, Function<T, Object> idOf) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<ChangeEvent> changes = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            changes.add(ChangeEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(String.valueOf(idOf.apply(row)))
+                .operation(operation)
+                .payload(this.toJson(row)).build());
+        }
+        this.repository.insertAll(changes);
+        this.repository.incrementVersion(aggregateType);
+    }
+
+    private String toJson(Object row) {
+        try {
+            return this.objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Change payload cannot be serialized: " + e.getMessage(), e);
+        }
+    }
+}
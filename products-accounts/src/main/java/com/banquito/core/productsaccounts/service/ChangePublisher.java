@@ -0,0 +1,81 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banquito.core.productsaccounts.config.OutboxValues;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the outbox and hands pending changes to every {@link ChangeSink}, one batch per transaction.
+ *
+ * Only the instance holding the publisher advisory lock publishes, so sequences are assigned by a
+ * single writer at a time: consecutive, in commit order, and never reused. Changes of the same row
+ * keep their order because the second write waited for the first one's row lock.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "publisher-enabled", matchIfMissing = true)
+public class ChangePublisher {
+
+    private final ChangeOutboxRepository repository;
+    private final List<ChangeSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxValues outboxValues;
+    private final Counter published;
+    private final Counter failures;
+
+    public ChangePublisher(ChangeOutboxRepository repository, List<ChangeSink> sinks,
+            PlatformTransactionManager transactionManager, OutboxValues outboxValues, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxValues = outboxValues;
+        this.published = Counter.builder("outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.publish.failures").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:1000}")
+    public void publishPending() {
+        try {
+            int count;
+            do {
+                count = this.transactionTemplate.execute(status -> this.publishBatch());
+            } while (count == this.outboxValues.getBatchSize());
+        } catch (RuntimeException e) {
+            this.failures.increment();
+            log.error("Error publishing outbox changes, retrying on the next poll: {}", e.getMessage(), e);
+        }
+    }
+
+    private int publishBatch() {
+        if (!this.repository.tryLockPublisher()) {
+            return 0;
+        }
+        List<ChangeEvent> changes = this.repository.findPending(this.outboxValues.getBatchSize());
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        long sequence = this.repository.findLastSequence();
+        for (ChangeEvent change : changes) {
+            change.setSequence(++sequence);
+        }
+        this.repository.markPublished(changes);
+        for (ChangeSink sink : this.sinks) {
+            sink.publish(changes);
+        }
+        this.published.increment(changes.size());
+        log.debug("Published {} changes up to sequence {}", changes.size(), sequence);
+        return changes.size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.List;
+
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+
+/**
+ * Destination of published changes. Called by {@link ChangePublisher} inside the transaction that
+ * marks the batch published: throwing rolls it back and the same batch is retried on the next poll,
+ * so delivery is at least once and consumers deduplicate by sequence.
+ */
+public interface ChangeSink {
+
+    void publish(List<ChangeEvent> changes);
+}
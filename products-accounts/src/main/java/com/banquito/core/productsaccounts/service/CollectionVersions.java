@@ -0,0 +1,78 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.productsaccounts.config.HttpCacheValues;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+
+/**
+ * Version per catalogue collection, used to build strong ETags and to key the cached list bodies.
+ *
+ * The version is the COLLECTION_VERSION row of the collection, incremented by every write in its own
+ * transaction through {@link ChangeOutbox}. The row lock orders concurrent writers, so the version
+ * changes whenever a write commits, whatever the order the writes started in; all instances agree
+ * on it and it survives restarts.
+ * It is read again at most every {@code http.cache.version-max-age}; a write of this instance drops
+ * the value once it commits, so the writer never serves its previous version. Writes of other
+ * instances are seen within the max age.
+ */
+@Component
+public class CollectionVersions {
+
+    public static final String PRODUCT_ACCOUNTS = "productsaccounts";
+    public static final String INTEREST_RATES = "interestrates";
+
+    private static final Map<String, String> AGGREGATE_TYPES = Map.of(
+            PRODUCT_ACCOUNTS, ChangeEvent.PRODUCT_ACCOUNT,
+            INTEREST_RATES, ChangeEvent.INTEREST_RATE);
+
+    private final ChangeOutboxRepository repository;
+    private final long maxAgeNanos;
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    public CollectionVersions(ChangeOutboxRepository repository, HttpCacheValues httpCacheValues) {
+        this.repository = repository;
+        this.maxAgeNanos = httpCacheValues.getVersionMaxAge().toNanos();
+    }
+
+    public void bump(String collection) {
+        AfterCommit.run(() -> this.versions.remove(collection));
+    }
+
+    public long getVersion(String collection) {
+        long now = System.nanoTime();
+        Version version = this.versions.get(collection);
+        if (version == null || now - version.readAt >= this.maxAgeNanos) {
+            version = new Version(this.repository.findVersion(aggregateType(collection)), now);
+            this.versions.put(collection, version);
+        }
+        return version.value;
+    }
+
+    public String etag(String collection) {
+        return "\"" + collection + "-" + getVersion(collection) + "\"";
+    }
+
+    private static String aggregateType(String collection) {
+        String aggregateType = AGGREGATE_TYPES.get(collection);
+        if (aggregateType == null) {
+            throw new IllegalArgumentException("Unknown collection: " + collection);
+        }
+        return aggregateType;
+    }
+
+    private static final class Version {
+
+        private final long value;
+        private final long readAt;
+
+        private Version(long value, long readAt) {
+            this.value = value;
+            this.readAt = readAt;
+        }
+    }
+}
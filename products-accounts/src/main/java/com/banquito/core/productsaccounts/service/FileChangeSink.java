@@ -0,0 +1,54 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.productsaccounts.config.OutboxValues;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Appends published changes to a file, one JSON object per line, and forces them to disk before the
+ * batch is marked published. A stand-in for a message broker in tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "file-sink-path")
+public class FileChangeSink implements ChangeSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileChangeSink(OutboxValues outboxValues, ObjectMapper objectMapper) {
+        this.path = Paths.get(outboxValues.getFileSinkPath());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> changes) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (ChangeEvent change : changes) {
+                lines.append(this.objectMapper.writeValueAsString(change)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Change cannot be serialized: " + e.getMessage(), e);
+        }
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            channel.write(StandardCharsets.UTF_8.encode(lines.toString()));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Changes cannot be written to " + this.path, e);
+        }
+    }
+}
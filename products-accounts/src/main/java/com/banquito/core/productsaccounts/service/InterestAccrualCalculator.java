@@ -0,0 +1,93 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.banquito.core.productsaccounts.model.AccrualBatch;
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+/**
+ * Daily interest of a page of accounts, split across a fork-join pool.
+ *
+ * Arithmetic is done on scaled longs: balance in cents times the rate in parts per million gives
+ * the yearly interest in 1e-8 units, and dividing by 365 * 100 leaves the daily interest in
+ * millionths of the currency unit, rounded half up. A NUMERIC(10,2) balance times a rate below 1
+ * stays far below Long.MAX_VALUE. Each account accrues the rate it references by name, as in effect
+ * on the accrual day; accounts without a reference or without a rate in effect are not accrued.
+ */
+public class InterestAccrualCalculator {
+
+    static final long DAYS_PER_YEAR = 365;
+    private static final long DIVISOR = DAYS_PER_YEAR * 100;
+    private static final long[] NOT_IN_EFFECT = new long[] { AccrualBatch.NO_RATE, 0 };
+
+    private final InterestRateIndex index;
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+
+    public InterestAccrualCalculator(InterestRateIndex index, ForkJoinPool pool, int splitThreshold) {
+        this.index = index;
+        this.pool = pool;
+        this.splitThreshold = Math.max(1, splitThreshold);
+    }
+
+    public static long dailyInterestMicros(long balanceCents, long ratePpm) {
+        return Math.floorDiv(balanceCents * ratePpm + DIVISOR / 2, DIVISOR);
+    }
+
+    public void compute(AccrualBatch batch, long epochDay) {
+        Map<String, long[]> rates = new ConcurrentHashMap<>();
+        this.pool.invoke(new AccrualTask(batch, epochDay, rates, 0, batch.getSize()));
+    }
+
+    private long[] resolve(String rateName, long epochDay) {
+        InterestRate interestRate = this.index.findAsOf(rateName, epochDay);
+        if (interestRate == null) {
+            return NOT_IN_EFFECT;
+        }
+        return new long[] { interestRate.getId(), interestRate.getInterestRate().movePointRight(6).longValue() };
+    }
+
+    private final class AccrualTask extends RecursiveAction {
+
+        private final AccrualBatch batch;
+        private final long epochDay;
+        private final Map<String, long[]> rates;
+        private final int from;
+        private final int to;
+
+        private AccrualTask(AccrualBatch batch, long epochDay, Map<String, long[]> rates, int from, int to) {
+            this.batch = batch;
+            this.epochDay = epochDay;
+            this.rates = rates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > splitThreshold) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new AccrualTask(this.batch, this.epochDay, this.rates, this.from, middle),
+                        new AccrualTask(this.batch, this.epochDay, this.rates, middle, this.to));
+                return;
+            }
+            String[] rateNames = this.batch.getRateNames();
+            long[] balanceCents = this.batch.getBalanceCents();
+            int[] rateIds = this.batch.getRateIds();
+            long[] ratePpm = this.batch.getRatePpm();
+            long[] interestMicros = this.batch.getInterestMicros();
+            for (int i = this.from; i < this.to; i++) {
+                long[] rate = rateNames[i] == null ? NOT_IN_EFFECT : this.rates.get(rateNames[i]);
+                if (rate == null) {
+                    rate = this.rates.computeIfAbsent(rateNames[i], name -> resolve(name, this.epochDay));
+                }
+                rateIds[i] = (int) rate[0];
+                ratePpm[i] = rate[1];
+                interestMicros[i] = rate[0] == AccrualBatch.NO_RATE ? 0 : dailyInterestMicros(balanceCents[i], rate[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banquito.core.productsaccounts.config.AccrualValues;
+import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.AccrualBatch;
+import com.banquito.core.productsaccounts.model.AccrualCheckpoint;
+import com.banquito.core.productsaccounts.repository.InterestAccrualRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Daily interest accrual by keyset pages, checkpointed after every page. Runs requested through
+ * {@link #start(LocalDate)} execute one at a time on a dedicated thread; their progress is the
+ * stored checkpoint. The fork-join pool of the calculation and the run thread are closed with the
+ * context, an interrupted run resumes from its checkpoint on the next start.
+ */
+@Slf4j
+@Service
+public class InterestAccrualService implements DisposableBean {
+
+    private final InterestAccrualRepository repository;
+    private final InterestRateIndex index;
+    private final InterestAccrualCalculator calculator;
+    private final TransactionTemplate transactionTemplate;
+    private final AccrualValues accrualValues;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner;
+    private final Set<LocalDate> inProgress = ConcurrentHashMap.newKeySet();
+
+    public InterestAccrualService(InterestAccrualRepository repository, InterestRateIndex index,
+            AccrualValues accrualValues, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.index = index;
+        this.accrualValues = accrualValues;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = accrualValues.getParallelism() > 0
+                ? new ForkJoinPool(accrualValues.getParallelism())
+                : ForkJoinPool.commonPool();
+        this.calculator = new InterestAccrualCalculator(index, this.pool, accrualValues.getSplitThreshold());
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "interest-accrual");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public AccrualCheckpoint start(LocalDate accrualDate) throws CRUDException {
+        AccrualCheckpoint checkpoint = this.progress(accrualDate);
+        if (checkpoint != null && AccrualCheckpoint.FINISHED.equals(checkpoint.getState())) {
+            return checkpoint;
+        }
+        if (this.inProgress.add(accrualDate)) {
+            try {
+                this.runner.execute(() -> {
+                    try {
+                        this.accrue(accrualDate);
+                    } catch (CRUDException e) {
+                        // already logged, the checkpoint keeps the progress for the next start
+                    } finally {
+                        this.inProgress.remove(accrualDate);
+                    }
+                });
+            } catch (RuntimeException e) {
+                this.inProgress.remove(accrualDate);
+                log.error("Error starting interest accrual for {}: {}", accrualDate, e.getMessage());
+                throw new CRUDException(540, "Interest accrual cannot be started, error:" + e.getMessage(), e);
+            }
+            log.info("Interest accrual for {} started", accrualDate);
+        }
+        return checkpoint != null ? checkpoint : queued(accrualDate);
+    }
+
+    public AccrualCheckpoint obtainProgress(LocalDate accrualDate) throws CRUDException {
+        AccrualCheckpoint checkpoint = this.progress(accrualDate);
+        if (checkpoint != null) {
+            return checkpoint;
+        }
+        if (this.inProgress.contains(accrualDate)) {
+            return queued(accrualDate);
+        }
+        throw new CRUDException(404, "Interest accrual for " + accrualDate + " has not been started");
+    }
+
+    private static AccrualCheckpoint queued(LocalDate accrualDate) {
+        return AccrualCheckpoint.builder()
+            .accrualDate(accrualDate)
+            .lastId("")
+            .state(AccrualCheckpoint.RUNNING).build();
+    }
+
+    private AccrualCheckpoint progress(LocalDate accrualDate) throws CRUDException {
+        try {
+            return this.repository.findCheckpoint(accrualDate);
+        } catch (Exception e) {
+            log.error("Error reading interest accrual checkpoint for {}: {}", accrualDate, e.getMessage());
+            throw new CRUDException(540, "Interest accrual checkpoint cannot be read, error:" + e.getMessage(), e);
+        }
+    }
+
+    public AccrualCheckpoint accrue(LocalDate accrualDate) throws CRUDException {
+        try {
+            AccrualCheckpoint checkpoint = this.repository.findCheckpoint(accrualDate);
+            if (checkpoint == null) {
+                checkpoint = AccrualCheckpoint.builder()
+                    .accrualDate(accrualDate)
+                    .lastId("")
+                    .state(AccrualCheckpoint.RUNNING).build();
+            } else if (AccrualCheckpoint.FINISHED.equals(checkpoint.getState())) {
+                log.info("Interest accrual for {} already finished with {} accounts", accrualDate, checkpoint.getProcessed());
+                return checkpoint;
+            } else {
+                log.info("Resuming interest accrual for {} after account {}", accrualDate, checkpoint.getLastId());
+            }
+            // rates changed on other instances since the index was loaded
+            this.index.sync();
+            long start = System.nanoTime();
+            long epochDay = accrualDate.toEpochDay();
+            int pageSize = this.accrualValues.getPageSize();
+            AccrualBatch batch;
+            do {
+                batch = this.repository.findPage(checkpoint.getLastId(), pageSize);
+                if (batch.getSize() == 0) {
+                    break;
+                }
+                this.calculator.compute(batch, epochDay);
+                int accrued = batch.countAccrued();
+                checkpoint.setLastId(batch.getLastAccountId());
+                checkpoint.setProcessed(checkpoint.getProcessed() + batch.getSize());
+                checkpoint.setSkipped(checkpoint.getSkipped() + batch.getSize() - accrued);
+                checkpoint.setProcessedInRun(checkpoint.getProcessedInRun() + batch.getSize());
+                this.writePage(accrualDate, batch, checkpoint);
+                log.debug("Accrued {} of {} accounts up to {}", accrued, batch.getSize(), checkpoint.getLastId());
+            } while (batch.getSize() == pageSize);
+            checkpoint.setState(AccrualCheckpoint.FINISHED);
+            this.repository.saveCheckpoint(checkpoint);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.info("Interest accrual for {} finished: {} accounts, {} without rate; {} accounts in {} ms, {} accounts/s",
+                    accrualDate, checkpoint.getProcessed(), checkpoint.getSkipped(), checkpoint.getProcessedInRun(),
+                    elapsedMillis, checkpoint.getProcessedInRun() * 1000 / elapsedMillis);
+            return checkpoint;
+        } catch (Exception e) {
+            log.error("Error in interest accrual for {}: {}", accrualDate, e.getMessage());
+            throw new CRUDException(540, "Interest accrual cannot be completed, error:" + e.getMessage(), e);
+        }
+    }
+
+    private void writePage(LocalDate accrualDate, AccrualBatch batch, AccrualCheckpoint checkpoint) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.repository.insertAll(accrualDate, batch);
+            this.repository.saveCheckpoint(checkpoint);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        this.runner.shutdownNow();
+        if (this.pool != ForkJoinPool.commonPool()) {
+            this.pool.shutdownNow();
+        }
+    }
+}
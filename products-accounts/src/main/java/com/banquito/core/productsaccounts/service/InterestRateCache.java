@@ -0,0 +1,159 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+/**
+ * In-process read-through cache for interest rates.
+ *
+ * The active rates are kept as an immutable snapshot tagged with the cache version. Reads never
+ * lock: a valid snapshot is returned as is, otherwise it is loaded and published only if no write
+ * happened meanwhile, so a stale load can never replace a newer invalidation. Writes of this
+ * instance invalidate what they changed; {@link #sync(long)} drops everything when the shared
+ * collection version moved, which covers the writes of other instances.
+ */
+public class InterestRateCache {
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong collectionVersion = new AtomicLong(-1);
+    private final AtomicReference<Snapshot> actives = new AtomicReference<>();
+    private final Map<Integer, InterestRate> byId = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public List<InterestRate> getActives(Supplier<List<InterestRate>> loader) {
+        long currentVersion = this.version.get();
+        Snapshot snapshot = this.actives.get();
+        if (snapshot != null && snapshot.version == currentVersion) {
+            this.hits.increment();
+            return snapshot.rates;
+        }
+        this.misses.increment();
+        List<InterestRate> rates = Collections.unmodifiableList(loader.get());
+        Snapshot loaded = new Snapshot(currentVersion, rates);
+        if (this.version.get() == currentVersion) {
+            this.actives.compareAndSet(snapshot, loaded);
+        }
+        return rates;
+    }
+
+    public InterestRate getById(Integer id, Supplier<InterestRate> loader) {
+        InterestRate interestRate = this.byId.get(id);
+        if (interestRate != null) {
+            this.hits.increment();
+            return interestRate;
+        }
+        this.misses.increment();
+        long currentVersion = this.version.get();
+        interestRate = loader.get();
+        if (interestRate != null && this.version.get() == currentVersion) {
+            this.byId.putIfAbsent(id, interestRate);
+            if (this.version.get() != currentVersion) {
+                this.byId.remove(id, interestRate);
+            }
+        }
+        return interestRate;
+    }
+
+    /**
+     * Resolves several ids at once: cached ones are served from memory and the rest are loaded with
+     * a single call to the loader. The result is aligned with the requested ids, null when missing.
+     */
+    public List<InterestRate> getAllById(List<Integer> ids, Function<Collection<Integer>, List<InterestRate>> loader) {
+        List<InterestRate> interestRates = new ArrayList<>(ids.size());
+        Collection<Integer> missing = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            InterestRate interestRate = this.byId.get(id);
+            interestRates.add(interestRate);
+            if (interestRate == null) {
+                missing.add(id);
+            }
+        }
+        this.hits.add(ids.size() - missing.size());
+        if (missing.isEmpty()) {
+            return interestRates;
+        }
+        this.misses.add(missing.size());
+        long currentVersion = this.version.get();
+        Map<Integer, InterestRate> loaded = new HashMap<>();
+        for (InterestRate interestRate : loader.apply(missing)) {
+            loaded.put(interestRate.getId(), interestRate);
+        }
+        if (this.version.get() == currentVersion) {
+            this.byId.putAll(loaded);
+            if (this.version.get() != currentVersion) {
+                loaded.forEach(this.byId::remove);
+            }
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (interestRates.get(i) == null) {
+                interestRates.set(i, loaded.get(ids.get(i)));
+            }
+        }
+        return interestRates;
+    }
+
+    public void invalidate(Integer id) {
+        this.version.incrementAndGet();
+        if (this.actives.getAndSet(null) != null) {
+            this.evictions.increment();
+        }
+        if (id != null && this.byId.remove(id) != null) {
+            this.evictions.increment();
+        }
+    }
+
+    public void sync(long collectionVersion) {
+        long seen = this.collectionVersion.get();
+        if (seen != collectionVersion && this.collectionVersion.compareAndSet(seen, collectionVersion)) {
+            this.version.incrementAndGet();
+            if (this.actives.getAndSet(null) != null) {
+                this.evictions.increment();
+            }
+            this.evictions.add(this.byId.size());
+            this.byId.clear();
+        }
+    }
+
+    public long getVersion() {
+        return this.version.get();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<InterestRate> rates;
+
+        private Snapshot(long version, List<InterestRate> rates) {
+            this.version = version;
+            this.rates = rates;
+        }
+    }
+}
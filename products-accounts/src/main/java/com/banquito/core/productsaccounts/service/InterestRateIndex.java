@@ -0,0 +1,221 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Effective-dated index of interest rates: which rate was in effect for a name on a given day.
+ *
+ * Each name owns an immutable timeline of non-overlapping segments sorted by start day, searched
+ * with a binary search over a primitive array, so a lookup never touches the database nor allocates.
+ * A rate is in effect from its start date (inclusive) to its end date (exclusive, open when null);
+ * where rates of the same name overlap, the one that starts later wins, and an earlier rate that is
+ * still open applies again once the later one ends. The whole table is loaded on
+ * first use and afterwards only the timelines of names changed by this instance are rebuilt.
+ * Writes of other instances are picked up by {@link #sync()}, which loads the table again when the
+ * interest rates collection version moved: lookups by date sync first, an accrual run once at start.
+ */
+@Slf4j
+@Component
+public class InterestRateIndex {
+
+    private static final long NOT_LOADED = -1;
+
+    private final InterestRateRepository repository;
+    private final CollectionVersions versions;
+    private final Map<String, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private volatile long loadedVersion = NOT_LOADED;
+
+    public InterestRateIndex(InterestRateRepository repository, CollectionVersions versions) {
+        this.repository = repository;
+        this.versions = versions;
+    }
+
+    public InterestRate findAsOf(String name, LocalDate date) {
+        this.sync();
+        return this.findAsOf(name, date.toEpochDay());
+    }
+
+    public InterestRate findAsOf(String name, long epochDay) {
+        if (this.loadedVersion == NOT_LOADED) {
+            this.sync();
+        }
+        Timeline timeline = this.timelines.get(name);
+        return timeline == null ? null : timeline.find(epochDay);
+    }
+
+    /**
+     * Loads the table again if the interest rates collection version is not the loaded one.
+     */
+    public void sync() {
+        long version = this.versions.getVersion(CollectionVersions.INTEREST_RATES);
+        if (version != this.loadedVersion) {
+            this.load(version);
+        }
+    }
+
+    private synchronized void load(long version) {
+        if (version != this.loadedVersion) {
+            this.reload(version);
+        }
+    }
+
+    public synchronized void reload() {
+        this.reload(this.versions.getVersion(CollectionVersions.INTEREST_RATES));
+    }
+
+    private synchronized void reload(long version) {
+        List<InterestRate> interestRates = this.repository.findAll();
+        Map<String, List<InterestRate>> byName = interestRates.stream()
+                .collect(Collectors.groupingBy(InterestRate::getName));
+        this.timelines.keySet().retainAll(byName.keySet());
+        this.names.clear();
+        byName.forEach(this::publish);
+        this.loadedVersion = version;
+        log.info("Interest rate index loaded with {} rates for {} names", interestRates.size(), byName.size());
+    }
+
+    public synchronized void refresh(Collection<InterestRate> changed) {
+        if (this.loadedVersion == NOT_LOADED) {
+            return;
+        }
+        Set<String> stale = new HashSet<>();
+        for (InterestRate interestRate : changed) {
+            stale.add(interestRate.getName());
+            String previous = this.names.get(interestRate.getId());
+            if (previous != null) {
+                stale.add(previous);
+            }
+        }
+        this.names.values().removeIf(stale::contains);
+        for (String name : stale) {
+            this.publish(name, this.repository.findByName(name));
+        }
+        log.debug("Interest rate index refreshed for names {}", stale);
+    }
+
+    public void refresh(InterestRate changed) {
+        this.refresh(List.of(changed));
+    }
+
+    private void publish(String name, List<InterestRate> interestRates) {
+        if (interestRates.isEmpty()) {
+            this.timelines.remove(name);
+            return;
+        }
+        for (InterestRate interestRate : interestRates) {
+            this.names.put(interestRate.getId(), name);
+        }
+        this.timelines.put(name, Timeline.of(interestRates));
+    }
+
+    static long toEpochDay(Date date) {
+        if (date instanceof java.sql.Date) {
+            return ((java.sql.Date) date).toLocalDate().toEpochDay();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private static final class Timeline {
+
+        private final long[] starts;
+        private final long[] ends;
+        private final InterestRate[] rates;
+
+        private Timeline(long[] starts, long[] ends, InterestRate[] rates) {
+            this.starts = starts;
+            this.ends = ends;
+            this.rates = rates;
+        }
+
+        private static Timeline of(List<InterestRate> interestRates) {
+            List<InterestRate> sorted = new ArrayList<>(interestRates.size());
+            TreeSet<Long> boundaries = new TreeSet<>();
+            for (InterestRate interestRate : interestRates) {
+                if (interestRate.getStart() != null && start(interestRate) < end(interestRate)) {
+                    sorted.add(interestRate);
+                    boundaries.add(start(interestRate));
+                    boundaries.add(end(interestRate));
+                }
+            }
+            sorted.sort(Comparator.comparingLong(Timeline::start)
+                    .thenComparing(InterestRate::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+            // every boundary opens an elementary segment owned by the covering rate that starts last,
+            // so an earlier open rate applies again once a later, closed one has ended
+            List<Long> segmentStarts = new ArrayList<>();
+            List<Long> segmentEnds = new ArrayList<>();
+            List<InterestRate> segmentRates = new ArrayList<>();
+            Long[] points = boundaries.toArray(new Long[0]);
+            for (int k = 0; k < points.length - 1; k++) {
+                long from = points[k];
+                InterestRate winner = null;
+                for (InterestRate interestRate : sorted) {
+                    if (start(interestRate) > from) {
+                        break;
+                    }
+                    if (end(interestRate) > from) {
+                        winner = interestRate;
+                    }
+                }
+                if (winner == null) {
+                    continue;
+                }
+                int last = segmentRates.size() - 1;
+                if (last >= 0 && segmentRates.get(last) == winner && segmentEnds.get(last) == from) {
+                    segmentEnds.set(last, points[k + 1]);
+                } else {
+                    segmentStarts.add(from);
+                    segmentEnds.add(points[k + 1]);
+                    segmentRates.add(winner);
+                }
+            }
+            int size = segmentRates.size();
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = segmentStarts.get(i);
+                ends[i] = segmentEnds.get(i);
+            }
+            return new Timeline(starts, ends, segmentRates.toArray(new InterestRate[0]));
+        }
+
+        private static long start(InterestRate interestRate) {
+            return toEpochDay(interestRate.getStart());
+        }
+
+        private static long end(InterestRate interestRate) {
+            return interestRate.getEnd() == null ? Long.MAX_VALUE : toEpochDay(interestRate.getEnd());
+        }
+
+        private InterestRate find(long epochDay) {
+            int position = Arrays.binarySearch(this.starts, epochDay);
+            if (position < 0) {
+                position = -position - 2;
+            }
+            if (position < 0 || epochDay >= this.ends[position]) {
+                return null;
+            }
+            return this.rates[position];
+        }
+    }
+}
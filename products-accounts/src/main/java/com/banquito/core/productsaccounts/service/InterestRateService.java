@@ -1,12 +1,15 @@
 package com.banquito.core.productsaccounts.service;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
 import com.banquito.core.productsaccounts.model.InterestRate;
 import com.banquito.core.productsaccounts.repository.InterestRateRepository;
 
@@ -14,35 +17,69 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class InterestRateService {
 
     private final InterestRateRepository repository;
+    private final InterestRateIndex index;
+    private final CollectionVersions versions;
+    private final ChangeOutbox outbox;
+    private final InterestRateCache cache = new InterestRateCache();
 
-    public InterestRateService(InterestRateRepository repository) {
+    public InterestRateService(InterestRateRepository repository, InterestRateIndex index,
+            CollectionVersions versions, ChangeOutbox outbox) {
         this.repository = repository;
+        this.index = index;
+        this.versions = versions;
+        this.outbox = outbox;
     }
 
     public List<InterestRate> listAllActives() {
         log.info("Obtaining all active interest rate records");
-        List<InterestRate> rates = this.repository.findByState("ACT");
+        List<InterestRate> rates = this.cache().getActives(() -> this.repository.findByState("ACT"));
         log.debug("Returning {} interest rates records", rates.size());
         return rates;
     }
 
     public InterestRate obtainById(Integer id) {
         log.info("Looking interest rate by id: {}", id);
-        Optional<InterestRate> interestRateOpt = this.repository.findById(id);
-        if (!interestRateOpt.isPresent()) {
+        InterestRate interestRate = this.cache().getById(id, () -> this.repository.findById(id).orElse(null));
+        if (interestRate == null) {
             throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
         } else {
-            return interestRateOpt.get();
+            return interestRate;
         }
     }
 
+    public List<InterestRate> obtainByIds(List<Integer> ids) {
+        log.info("Looking {} interest rates by id", ids.size());
+        List<InterestRate> interestRates = this.cache().getAllById(ids, this.repository::findAllById);
+        log.debug("Returning interest rates for ids {}", ids);
+        return interestRates;
+    }
+
+    public InterestRate obtainAsOf(String name, LocalDate date) {
+        log.debug("Looking interest rate {} in effect on {}", name, date);
+        InterestRate interestRate = this.index.findAsOf(name, date);
+        if (interestRate == null) {
+            throw new CRUDException(404, "Interest Rate: {" + name + "} is not in effect on: {" + date + "}");
+        }
+        return interestRate;
+    }
+
+    public InterestRateCache getCache() {
+        return this.cache;
+    }
+
+    @Transactional
     public void create(InterestRate interestRate) throws CRUDException {
         try {
-            log.info("Creating interest rate with the following info: {}", interestRate);
+            log.info("Creating interest rate with name: {}", interestRate.getName());
             this.repository.save(interestRate);
+            this.repository.flush();
+            this.outbox.record(ChangeEvent.INTEREST_RATE, ChangeEvent.CREATED, interestRate.getId(), interestRate);
+            this.evict(interestRate.getId(), List.of(interestRate));
+            this.versions.bump(CollectionVersions.INTEREST_RATES);
             log.debug("Interest rate created with the following info: {}", interestRate);
         } catch (Exception e) {
             log.error("Error in interest rate creation: {}, with data: {}", e.getMessage(), interestRate);
@@ -50,19 +87,41 @@ public class InterestRateService {
         }
     }
 
-    public void update(Integer id, InterestRate interestRate) throws CRUDException {
+    @Transactional
+    public void createAll(List<InterestRate> interestRates) throws CRUDException {
+        try {
+            log.info("Creating {} interest rates in batch", interestRates.size());
+            for (InterestRate interestRate : interestRates) {
+                interestRate.setId(null);
+            }
+            this.repository.insertAll(interestRates);
+            this.outbox.recordAll(ChangeEvent.INTEREST_RATE, ChangeEvent.CREATED, interestRates, InterestRate::getId);
+            this.evict(null, interestRates);
+            this.versions.bump(CollectionVersions.INTEREST_RATES);
+        } catch (Exception e) {
+            log.error("Error in interest rates batch creation: {}", e.getMessage());
+            throw new CRUDException(510, "Interest Rates cannot be created, error:" + e.getMessage(), e);
+        }
+    }
+
+    @Transactional
+    public InterestRate update(Integer id, InterestRate interestRate) throws CRUDException {
         try {
             log.info("Going to update Interest Rate with id: {} ", id);
             log.debug("Going to update Interest Rate with id: {} with the following data {}", id, interestRate);
-            Optional<InterestRate> interestRateOpt = this.repository.findById(id);
+            Optional<InterestRate> interestRateOpt = this.repository.updateReturning(id, interestRate.getName(),
+                    interestRate.getInterestRate());
             if (!interestRateOpt.isPresent()) {
                 throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
             }
             InterestRate interestRateTmp = interestRateOpt.get();
-            interestRateTmp.setName(interestRate.getName());
-            interestRateTmp.setInterestRate(interestRate.getInterestRate());
-            this.repository.save(interestRateTmp);
+            this.outbox.record(ChangeEvent.INTEREST_RATE, ChangeEvent.UPDATED, id, interestRateTmp);
+            this.evict(id, List.of(interestRateTmp));
+            this.versions.bump(CollectionVersions.INTEREST_RATES);
             log.debug("Interest Rate with id: {} has been updated with the following info {}", id, interestRateTmp);
+            return interestRateTmp;
+        } catch (CRUDException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error when try to update Interest Rate: {}, with the following info: {}", e.getMessage(),
                     interestRate);
@@ -70,21 +129,36 @@ public class InterestRateService {
         }
     }
 
+    @Transactional
     public void inactivate(Integer id) {
         try {
             log.info("Going to inactivate Interest Rate with id: {} ", id);
-            Optional<InterestRate> interestRateOpt = this.repository.findById(id);
+            Optional<InterestRate> interestRateOpt = this.repository.inactivateReturning(id, new Date());
             if (!interestRateOpt.isPresent()) {
                 throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
             }
             InterestRate interestRateTmp = interestRateOpt.get();
-            interestRateTmp.setState("INA");
-            interestRateTmp.setEnd(new Date());
-            this.repository.save(interestRateTmp);
+            this.outbox.record(ChangeEvent.INTEREST_RATE, ChangeEvent.INACTIVATED, id, interestRateTmp);
+            this.evict(id, List.of(interestRateTmp));
+            this.versions.bump(CollectionVersions.INTEREST_RATES);
             log.debug("Interest Rate with id: {} has been inactivated with the following info {}", id, interestRateTmp);
+        } catch (CRUDException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error when try to inactivate Interest Rate: {}, with id: {}", e.getMessage(), id);
             throw new CRUDException(530, "Interest Rate cannot be inactivated, error:" + e.getMessage(), e);
         }
     }
+
+    private InterestRateCache cache() {
+        this.cache.sync(this.versions.getVersion(CollectionVersions.INTEREST_RATES));
+        return this.cache;
+    }
+
+    private void evict(Integer id, List<InterestRate> changed) {
+        AfterCommit.run(() -> {
+            this.cache.invalidate(id);
+            this.index.refresh(changed);
+        });
+    }
 }
@@ -1,12 +1,19 @@
 package com.banquito.core.productsaccounts.service;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
 
@@ -14,12 +21,17 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class ProductAccountService {
     
     private final ProductAccountRepository repository;
+    private final CollectionVersions versions;
+    private final ChangeOutbox outbox;
 
-    public ProductAccountService(ProductAccountRepository repository) {
+    public ProductAccountService(ProductAccountRepository repository, CollectionVersions versions, ChangeOutbox outbox) {
         this.repository = repository;
+        this.versions = versions;
+        this.outbox = outbox;
     }
 
     public List<ProductAccount> listAllActives() {
@@ -29,6 +41,19 @@ public class ProductAccountService {
         return rates;
     }
 
+    public List<Map<String, Object>> listAllActives(List<String> fields) {
+        log.info("Obtaining fields {} of all active Products Accounts records", fields);
+        List<Map<String, Object>> productAccounts = this.repository.findFieldsByState(ProductAccount.class, "ACT", fields);
+        log.debug("Returning {} Products Accounts projections", productAccounts.size());
+        return productAccounts;
+    }
+
+    public List<ProductAccount> listActivesPage(String afterId, int size) {
+        log.info("Obtaining {} active Products Accounts records after id: {}", size, afterId);
+        return this.repository.findByStateAndIdGreaterThanOrderByIdAsc("ACT", afterId == null ? "" : afterId,
+                PageRequest.of(0, size));
+    }
+
     public ProductAccount obtainById(String id) {
         log.info("Looking Product Account by id: {}", id);
         Optional<ProductAccount> productAccountOpt = this.repository.findById(id);
@@ -39,15 +64,50 @@ public class ProductAccountService {
         }
     }
 
+    public List<ProductAccount> obtainByIds(List<String> ids) {
+        log.info("Looking {} Products Accounts by id", ids.size());
+        Map<String, ProductAccount> byId = new HashMap<>();
+        for (ProductAccount productAccount : this.repository.findAllById(new LinkedHashSet<>(ids))) {
+            byId.put(productAccount.getId(), productAccount);
+        }
+        List<ProductAccount> productAccounts = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            productAccounts.add(byId.get(id));
+        }
+        log.debug("Found {} of {} Products Accounts by id", byId.size(), ids.size());
+        return productAccounts;
+    }
+
+    @Transactional
     public void create(ProductAccount productAccount) throws CRUDException {
         try {
-            log.info("Creating Product Account with the following info: {}", productAccount);
+            log.info("Creating Product Account with id: {}", productAccount.getId());
             productAccount.setCreationDate(new Date());
             this.repository.save(productAccount);
+            this.repository.flush();
+            this.outbox.record(ChangeEvent.PRODUCT_ACCOUNT, ChangeEvent.CREATED, productAccount.getId(), productAccount);
+            this.versions.bump(CollectionVersions.PRODUCT_ACCOUNTS);
             log.debug("Product Account created with the following info: {}", productAccount);
         } catch (Exception e) {
             log.error("Error in Product Account creation: {}, with data: {}", e.getMessage(), productAccount);
             throw new CRUDException(510, "Product Account cannot be created, error:" + e.getMessage(), e);
         }
     }
+
+    @Transactional
+    public void createAll(List<ProductAccount> productAccounts) throws CRUDException {
+        try {
+            log.info("Creating {} Products Accounts in batch", productAccounts.size());
+            Date creationDate = new Date();
+            for (ProductAccount productAccount : productAccounts) {
+                productAccount.setCreationDate(creationDate);
+            }
+            this.repository.insertAll(productAccounts);
+            this.outbox.recordAll(ChangeEvent.PRODUCT_ACCOUNT, ChangeEvent.CREATED, productAccounts, ProductAccount::getId);
+            this.versions.bump(CollectionVersions.PRODUCT_ACCOUNTS);
+        } catch (Exception e) {
+            log.error("Error in Products Accounts batch creation: {}", e.getMessage());
+            throw new CRUDException(510, "Products Accounts cannot be created, error:" + e.getMessage(), e);
+        }
+    }
 }
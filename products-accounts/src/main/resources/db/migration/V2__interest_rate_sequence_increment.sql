@@ -0,0 +1,3 @@
+-- InterestRate ids come from a pooled generator (allocationSize 50): each nextval reserves a block of
+-- 50 ids, so the sequence must advance by the same amount.
+alter sequence public.INTEREST_RATE_ID_INTEREST_RATE_SEQ increment by 50;
@@ -0,0 +1,22 @@
+-- Daily interest accrual: one row per account and day, and the resumable progress of each day's run.
+
+create table public.INTEREST_ACCRUAL (
+   ACCRUAL_DATE         DATE                 not null,
+   ID_PRODUCT_ACCOUNT   VARCHAR(16)          not null,
+   ID_INTEREST_RATE     INT4                 not null,
+   RATE_PPM             INT8                 not null,
+   BALANCE_CENTS        INT8                 not null,
+   INTEREST_MICROS      INT8                 not null,
+   constraint PK_INTEREST_ACCRUAL primary key (ACCRUAL_DATE, ID_PRODUCT_ACCOUNT)
+);
+
+create table public.ACCRUAL_CHECKPOINT (
+   ACCRUAL_DATE         DATE                 not null,
+   LAST_ID              VARCHAR(16)          not null,
+   PROCESSED            INT8                 not null,
+   SKIPPED              INT8                 not null,
+   STATE                VARCHAR(3)           not null
+      constraint CKC_STATE_ACCRUAL_CHECKPOINT check (STATE in ('RUN','END')),
+   UPDATED_AT           TIMESTAMP            not null,
+   constraint PK_ACCRUAL_CHECKPOINT primary key (ACCRUAL_DATE)
+);
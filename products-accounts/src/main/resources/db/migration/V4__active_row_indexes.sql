@@ -0,0 +1,19 @@
+-- Only primary keys existed, so every findByState('ACT') and rate lookup by name was a sequential scan.
+-- Built CONCURRENTLY so a populated table stays writable; Flyway runs this script outside a transaction.
+
+-- Active product accounts in id order: keyset pages, fields= projections and the accrual page read from
+-- the index alone. Partial, so inactive and draft accounts cost nothing.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_PRODUCT_ACCOUNT_ACT
+   on public.PRODUCT_ACCOUNT (ID_PRODUCT_ACCOUNT)
+   include (NAME, MINIMUN_BALANCE, PAY_INTEREST)
+   where STATE = 'ACT';
+
+-- Active interest rates (the cached catalogue list).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_INTEREST_RATE_ACT
+   on public.INTEREST_RATE (ID_INTEREST_RATE)
+   where STATE = 'ACT';
+
+-- Effective-dated lookups: all periods of one rate name in start order, answered by an index-only scan.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_INTEREST_RATE_NAME_START
+   on public.INTEREST_RATE (NAME, START_DATE)
+   include (END_DATE, INTEREST_RATE, STATE);
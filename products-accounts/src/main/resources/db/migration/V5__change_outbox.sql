@@ -0,0 +1,26 @@
+-- Transactional outbox: every catalogue write inserts its change here in the same transaction.
+-- ID_CHANGE follows insert order only; SEQUENCE is assigned by the single active publisher (under an
+-- advisory lock) when the change is published, so it is gap-free and follows commit order, and it is
+-- the cursor of GET /api/v1/changes?since=.
+
+create table public.CHANGE_OUTBOX (
+   ID_CHANGE            BIGSERIAL            not null,
+   AGGREGATE_TYPE       VARCHAR(32)          not null,
+   AGGREGATE_ID         VARCHAR(16)          not null,
+   OPERATION            VARCHAR(3)           not null
+      constraint CKC_OPERATION_CHANGE_OUTBOX check (OPERATION in ('CRE','UPD','INA')),
+   PAYLOAD              TEXT                 not null,
+   CREATED_AT           TIMESTAMP            not null default now(),
+   SEQUENCE             INT8                 null,
+   PUBLISHED_AT         TIMESTAMP            null,
+   constraint PK_CHANGE_OUTBOX primary key (ID_CHANGE)
+);
+
+-- Pending changes in insert order, read by the publisher; empty once everything is published.
+create index IDX_CHANGE_OUTBOX_PENDING
+   on public.CHANGE_OUTBOX (ID_CHANGE)
+   where SEQUENCE is null;
+
+-- The change feed: published changes after a sequence.
+create unique index IDX_CHANGE_OUTBOX_SEQUENCE
+   on public.CHANGE_OUTBOX (SEQUENCE);
@@ -0,0 +1,8 @@
+-- Accounts reference the interest rate they accrue by its name (rates of one name are the effective-dated
+-- periods of that rate), instead of the accrual matching the account name against rate names. Accounts
+-- with no reference are not accrued. Existing accounts keep the rate their own name used to match.
+alter table public.PRODUCT_ACCOUNT add column INTEREST_RATE_NAME VARCHAR(50) null;
+
+update public.PRODUCT_ACCOUNT set INTEREST_RATE_NAME = NAME
+where PAY_INTEREST = 'Y'
+  and exists (select 1 from public.INTEREST_RATE r where r.NAME = PRODUCT_ACCOUNT.NAME);
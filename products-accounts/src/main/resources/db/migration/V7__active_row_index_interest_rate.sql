@@ -0,0 +1,8 @@
+-- The accrual page now reads INTEREST_RATE_NAME; the covering index of active accounts is rebuilt with it
+-- so the page stays an index-only scan. Built CONCURRENTLY, outside a transaction, before the old one goes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IDX_PRODUCT_ACCOUNT_ACTIVE
+   on public.PRODUCT_ACCOUNT (ID_PRODUCT_ACCOUNT)
+   include (NAME, MINIMUN_BALANCE, PAY_INTEREST, INTEREST_RATE_NAME)
+   where STATE = 'ACT';
+
+DROP INDEX CONCURRENTLY IF EXISTS public.IDX_PRODUCT_ACCOUNT_ACT;
@@ -0,0 +1,15 @@
+-- Version per catalogue collection behind the list ETags. Every write increments the row of its
+-- aggregate type in its own transaction; the row lock makes concurrent writers take turns, so the
+-- version changes in commit order, unlike ID_CHANGE which follows insert order.
+-- Starts from the last change id so versions already handed out in ETags are never reused.
+
+create table public.COLLECTION_VERSION (
+   AGGREGATE_TYPE       VARCHAR(32)          not null,
+   VERSION              INT8                 not null,
+   constraint PK_COLLECTION_VERSION primary key (AGGREGATE_TYPE)
+);
+
+insert into public.COLLECTION_VERSION (AGGREGATE_TYPE, VERSION)
+select T.AGGREGATE_TYPE, coalesce((select max(O.ID_CHANGE) from public.CHANGE_OUTBOX O
+                                   where O.AGGREGATE_TYPE = T.AGGREGATE_TYPE), 0)
+from (values ('PRODUCT_ACCOUNT'), ('INTEREST_RATE')) as T (AGGREGATE_TYPE);
@@ -0,0 +1,17 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class DataSourcePoolValidatorTest {
+
+    @Test
+    public void testSaturationIsZeroBeforeThePoolStarts() {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(20);
+
+        Assertions.assertEquals(0, DataSourcePoolValidator.saturation(hikari));
+    }
+}
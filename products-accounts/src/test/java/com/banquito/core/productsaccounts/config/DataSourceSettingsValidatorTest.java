@@ -0,0 +1,88 @@
+package com.banquito.core.productsaccounts.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class DataSourceSettingsValidatorTest {
+
+    private HikariDataSource hikari;
+    private DataSourceValues values;
+    private List<String> warnings;
+
+    @BeforeEach
+    public void setUp() {
+        hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(20);
+        hikari.setMinimumIdle(20);
+        hikari.setMaxLifetime(1_800_000);
+        hikari.setKeepaliveTime(300_000);
+        hikari.addDataSourceProperty("prepareThreshold", "5");
+        hikari.addDataSourceProperty("reWriteBatchedInserts", "true");
+        values = new DataSourceValues();
+        warnings = new ArrayList<>();
+    }
+
+    @Test
+    public void testDefaultsAreValid() {
+        List<String> errors = DataSourceSettingsValidator.validate(hikari, 50, values, warnings);
+
+        Assertions.assertTrue(errors.isEmpty(), errors.toString());
+        Assertions.assertTrue(warnings.isEmpty(), warnings.toString());
+    }
+
+    @Test
+    public void testKeepaliveAboveLifetimeIsRejected() {
+        hikari.setKeepaliveTime(1_800_000);
+
+        List<String> errors = DataSourceSettingsValidator.validate(hikari, 50, values, warnings);
+
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).startsWith("keepalive-time"));
+    }
+
+    @Test
+    public void testMinimumIdleAboveMaximumIsRejected() {
+        hikari.setMinimumIdle(30);
+
+        List<String> errors = DataSourceSettingsValidator.validate(hikari, 50, values, warnings);
+
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).startsWith("minimum-idle"));
+    }
+
+    @Test
+    public void testBatchingWithoutRewriteIsReported() {
+        hikari.addDataSourceProperty("reWriteBatchedInserts", "false");
+
+        List<String> errors = DataSourceSettingsValidator.validate(hikari, 50, values, warnings);
+
+        Assertions.assertTrue(errors.isEmpty());
+        Assertions.assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void testBoundPoolIsRejectedBeforeItStarts() {
+        hikari.setKeepaliveTime(1_800_000);
+        DataSourceSettingsValidator validator = new DataSourceSettingsValidator(new MockEnvironment());
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> validator.postProcessAfterInitialization(hikari, "dataSource"));
+        Assertions.assertFalse(hikari.isRunning());
+    }
+
+    @Test
+    public void testValidationCanBeTurnedOff() {
+        hikari.setKeepaliveTime(1_800_000);
+        MockEnvironment environment = new MockEnvironment().withProperty("datasource.validate-on-startup", "false");
+        DataSourceSettingsValidator validator = new DataSourceSettingsValidator(environment);
+
+        Assertions.assertSame(hikari, validator.postProcessAfterInitialization(hikari, "dataSource"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.banquito.core.productsaccounts.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.banquito.core.productsaccounts.config.OutboxValues;
+import com.banquito.core.productsaccounts.controller.dto.ChangeFeedRS;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.service.ChangeFeed;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeControllerTest {
+
+    @Mock
+    private ChangeFeed feed;
+
+    private ChangeController controller;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new ChangeController(feed, new OutboxValues());
+    }
+
+    private ChangeEvent change(long sequence) {
+        return ChangeEvent.builder()
+            .id(sequence)
+            .sequence(sequence)
+            .aggregateType(ChangeEvent.PRODUCT_ACCOUNT)
+            .aggregateId("CORR2023")
+            .operation(ChangeEvent.CREATED)
+            .payload("{\"id\":\"CORR2023\",\"state\":\"ACT\"}").build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<ChangeFeedRS> result(DeferredResult<ResponseEntity<ChangeFeedRS>> deferred) {
+        Assertions.assertTrue(deferred.hasResult());
+        return (ResponseEntity<ChangeFeedRS>) deferred.getResult();
+    }
+
+    @Test
+    public void testChangesWithoutWaiting() {
+        when(feed.changesAfter(4, 500)).thenReturn(List.of(change(5), change(6)));
+
+        ResponseEntity<ChangeFeedRS> response = result(controller.obtainChanges(4, 500, 0));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(2, response.getBody().getChanges().size());
+        Assertions.assertEquals(Long.valueOf(6), response.getBody().getNext());
+        Assertions.assertEquals("ACT", response.getBody().getChanges().get(0).getPayload().get("state").asText());
+    }
+
+    @Test
+    public void testLongPollIsAnsweredWhenChangesArePublished() {
+        CompletableFuture<List<ChangeEvent>> published = new CompletableFuture<>();
+        when(feed.awaitChangesAfter(6, 500)).thenReturn(published);
+
+        DeferredResult<ResponseEntity<ChangeFeedRS>> deferred = controller.obtainChanges(6, 500, 20000);
+        Assertions.assertFalse(deferred.hasResult());
+
+        published.complete(List.of(change(7)));
+        Assertions.assertEquals(Long.valueOf(7), result(deferred).getBody().getNext());
+    }
+
+    @Test
+    public void testLimitAboveMaximumIsRejected() {
+        ResponseEntity<ChangeFeedRS> response = result(controller.obtainChanges(0, 5000, 0));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(feed, never()).changesAfter(0, 5000);
+    }
+}
@@ -155,13 +155,13 @@ public class InterestRateControllerTest {
         ir.setInterestRate(BigDecimal.valueOf(2.5));
 
         // Configura el comportamiento del servicio mock
-        doNothing().when(service).update(eq(interestrate.getId()),any(InterestRate.class));
-        when(service.obtainById(eq(123))).thenReturn(ir);
+        when(service.update(eq(interestrate.getId()),any(InterestRate.class))).thenReturn(ir);
 
         // Llama al método controlador y verifica la respuesta
         ResponseEntity<InterestRateRQRS> response = controller.update("123", interestrate);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(interestrate.getInterestRate(), response.getBody().getInterestRate());
+        verify(service, never()).obtainById(anyInt());
     }
 
     @Test
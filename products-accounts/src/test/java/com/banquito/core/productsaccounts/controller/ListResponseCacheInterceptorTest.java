@@ -0,0 +1,130 @@
+package com.banquito.core.productsaccounts.controller;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.banquito.core.productsaccounts.config.HttpCacheValues;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+import com.banquito.core.productsaccounts.service.CollectionVersions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ListResponseCacheInterceptorTest {
+
+    private static final String PATH = "/api/v1/interestrates";
+
+    private AtomicLong collectionVersion;
+    private CollectionVersions versions;
+    private SimpleMeterRegistry meterRegistry;
+    private ListResponseCacheInterceptor interceptor;
+    private CatalogueController controller;
+    private HandlerMethod obtainAll;
+
+    public static class CatalogueController {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        public ResponseEntity<List<String>> obtainAll() {
+            return ResponseEntity.ok(List.of("rate-" + calls.incrementAndGet()));
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        collectionVersion = new AtomicLong();
+        versions = new CollectionVersions(new ChangeOutboxRepository(null) {
+
+            @Override
+            public long findVersion(String aggregateType) {
+                return collectionVersion.get();
+            }
+        }, new HttpCacheValues());
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ListResponseCacheInterceptor(versions, Jackson2ObjectMapperBuilder.json().build(), meterRegistry,
+                Map.of(PATH, CollectionVersions.INTEREST_RATES));
+        controller = new CatalogueController();
+        obtainAll = new HandlerMethod(controller, CatalogueController.class.getMethod("obtainAll"));
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Assertions.assertFalse(interceptor.preHandle(request, response, obtainAll));
+        return response;
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("http.list.cache", "collection", CollectionVersions.INTEREST_RATES, "result", result).count();
+    }
+
+    @Test
+    public void testBytesAreReusedUntilWrite() throws Exception {
+        MockHttpServletResponse first = get(new MockHttpServletRequest("GET", PATH));
+        MockHttpServletResponse second = get(new MockHttpServletRequest("GET", PATH));
+
+        Assertions.assertEquals("[\"rate-1\"]", first.getContentAsString());
+        Assertions.assertEquals("[\"rate-1\"]", second.getContentAsString());
+        Assertions.assertEquals(1, controller.calls.get());
+        Assertions.assertEquals(1, count("hit"));
+        Assertions.assertEquals(1, count("miss"));
+
+        collectionVersion.incrementAndGet();
+        versions.bump(CollectionVersions.INTEREST_RATES);
+
+        Assertions.assertEquals("[\"rate-2\"]", get(new MockHttpServletRequest("GET", PATH)).getContentAsString());
+        Assertions.assertEquals(2, meterRegistry.timer("http.list.cache.rebuild", "collection",
+                CollectionVersions.INTEREST_RATES).count());
+    }
+
+    @Test
+    public void testGzipVariant() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader(HttpHeaders.ETAG, "\"interestrates-1-0\"");
+
+        Assertions.assertFalse(interceptor.preHandle(request, response, obtainAll));
+
+        Assertions.assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("\"interestrates-1-0-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Assertions.assertEquals("[\"rate-1\"]", new String(gzip.readAllBytes()));
+        }
+    }
+
+    @Test
+    public void testGzipRefusedByQualityZeroIsNotUsed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+
+        MockHttpServletResponse response = get(request);
+
+        Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertTrue(response.getContentAsString().startsWith("["));
+    }
+
+    @Test
+    public void testNonJsonAndParameterizedRequestsBypassCache() throws Exception {
+        MockHttpServletRequest cbor = new MockHttpServletRequest("GET", PATH);
+        cbor.addHeader(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5");
+        MockHttpServletRequest page = new MockHttpServletRequest("GET", PATH);
+        page.setQueryString("size=10");
+
+        Assertions.assertTrue(interceptor.preHandle(cbor, new MockHttpServletResponse(), obtainAll));
+        Assertions.assertTrue(interceptor.preHandle(page, new MockHttpServletResponse(), obtainAll));
+        Assertions.assertEquals(0, controller.calls.get());
+    }
+}
@@ -1,5 +1,7 @@
 package com.banquito.core.productsaccounts.controller;
 
+import com.banquito.core.productsaccounts.controller.dto.LookupItemRS;
+import com.banquito.core.productsaccounts.controller.dto.LookupRS;
 import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
 import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
@@ -21,7 +23,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ProductAccountControllerTest {
@@ -135,4 +140,55 @@ public class ProductAccountControllerTest {
         assertEquals(ProductAccountMapper.mapToList(productAccounts), response.getBody());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void lookup_shouldMarkMissingIdsInRequestOrder() {
+        ProductAccount productAccount = new ProductAccount();
+        productAccount.setId("PA2");
+        productAccount.setName("Savings");
+        List<String> ids = Arrays.asList("PA1", "PA2");
+        when(productAccountService.obtainByIds(ids)).thenReturn(Arrays.asList(null, productAccount));
+
+        ResponseEntity<LookupRS<ProductAccountRQRS>> response = productAccountController.lookup(ids);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getFound());
+        assertEquals(1, response.getBody().getMissing());
+        assertEquals(LookupItemRS.NOT_FOUND, response.getBody().getItems().get(0).getStatus());
+        Assert.assertNull(response.getBody().getItems().get(0).getItem());
+        assertEquals("PA2", response.getBody().getItems().get(1).getId());
+        assertEquals("Savings", response.getBody().getItems().get(1).getItem().getName());
+    }
+
+    @Test
+    public void lookup_shouldRejectOversizedRequests() {
+        List<String> ids = Collections.nCopies(501, "PA1");
+
+        ResponseEntity<LookupRS<ProductAccountRQRS>> response = productAccountController.lookup(ids);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(productAccountService);
+    }
+
+    @Test
+    public void obtainAllFields_shouldReturnOnlyRequestedFields() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "PA1");
+        row.put("name", "Savings");
+        when(productAccountService.listAllActives(Arrays.asList("id", "name"))).thenReturn(List.of(row));
+
+        ResponseEntity<List<Map<String, Object>>> response = productAccountController.obtainAllFields("id, name,id");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(row), response.getBody());
+        verify(productAccountService, never()).listAllActives();
+    }
+
+    @Test
+    public void obtainAllFields_shouldRejectUnknownFields() {
+        ResponseEntity<List<Map<String, Object>>> response = productAccountController.obtainAllFields("id,creationDate");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(productAccountService);
+    }
+
+}
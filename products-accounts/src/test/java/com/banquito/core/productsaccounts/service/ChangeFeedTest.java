@@ -0,0 +1,89 @@
+package com.banquito.core.productsaccounts.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedTest {
+
+    @Mock
+    private ChangeOutboxRepository repository;
+
+    private ChangeFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        feed = new ChangeFeed(repository);
+    }
+
+    private List<ChangeEvent> changes(long first, long last) {
+        List<ChangeEvent> changes = new ArrayList<>();
+        for (long sequence = first; sequence <= last; sequence++) {
+            changes.add(ChangeEvent.builder().id(sequence).sequence(sequence).payload("{}").build());
+        }
+        return changes;
+    }
+
+    @Test
+    public void testAvailableChangesAreReturnedRightAway() {
+        when(repository.findPublishedAfter(5, 100)).thenReturn(changes(6, 7));
+
+        CompletableFuture<List<ChangeEvent>> result = feed.awaitChangesAfter(5, 100);
+
+        Assertions.assertTrue(result.isDone());
+        Assertions.assertEquals(2, result.join().size());
+    }
+
+    @Test
+    public void testWaiterIsCompletedByTheNextBatchWithoutQuerying() {
+        when(repository.findPublishedAfter(5, 2)).thenReturn(List.of());
+
+        CompletableFuture<List<ChangeEvent>> result = feed.awaitChangesAfter(5, 2);
+        Assertions.assertFalse(result.isDone());
+        Assertions.assertEquals(1, feed.getWaiting());
+
+        feed.publish(changes(6, 8));
+
+        Assertions.assertEquals(List.of(6L, 7L), result.join().stream().map(ChangeEvent::getSequence).toList());
+        Assertions.assertEquals(0, feed.getWaiting());
+        verify(repository, times(1)).findPublishedAfter(5, 2);
+    }
+
+    @Test
+    public void testWaiterBehindTheBatchQueriesAgain() {
+        when(repository.findPublishedAfter(3, 10)).thenReturn(List.of(), changes(4, 8));
+
+        CompletableFuture<List<ChangeEvent>> result = feed.awaitChangesAfter(3, 10);
+        feed.publish(changes(6, 8));
+
+        Assertions.assertEquals(5, result.join().size());
+        verify(repository, times(2)).findPublishedAfter(3, 10);
+    }
+
+    @Test
+    public void testWaiterAheadOfTheBatchKeepsWaiting() {
+        when(repository.findPublishedAfter(9, 10)).thenReturn(List.of());
+
+        CompletableFuture<List<ChangeEvent>> result = feed.awaitChangesAfter(9, 10);
+        feed.publish(changes(6, 8));
+
+        Assertions.assertFalse(result.isDone());
+        feed.cancel(result);
+        Assertions.assertEquals(0, feed.getWaiting());
+    }
+}
@@ -0,0 +1,96 @@
+package com.banquito.core.productsaccounts.service;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.banquito.core.productsaccounts.config.OutboxValues;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangePublisherTest {
+
+    @Mock
+    private ChangeOutboxRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private List<ChangeEvent> published;
+    private SimpleMeterRegistry meterRegistry;
+    private ChangePublisher publisher;
+
+    @BeforeEach
+    public void setUp() {
+        OutboxValues outboxValues = new OutboxValues();
+        outboxValues.setBatchSize(2);
+        published = new ArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
+        ChangeSink sink = changes -> published.addAll(changes);
+        publisher = new ChangePublisher(repository, List.of(sink), transactionManager, outboxValues, meterRegistry);
+    }
+
+    private ChangeEvent change(long id) {
+        return ChangeEvent.builder()
+            .id(id)
+            .aggregateType(ChangeEvent.INTEREST_RATE)
+            .aggregateId(String.valueOf(id))
+            .operation(ChangeEvent.CREATED)
+            .payload("{}").build();
+    }
+
+    @Test
+    public void testPendingChangesGetConsecutiveSequences() {
+        when(repository.tryLockPublisher()).thenReturn(true);
+        when(repository.findPending(2)).thenReturn(List.of(change(10), change(11)), List.of(change(12)));
+        when(repository.findLastSequence()).thenReturn(7L, 9L);
+
+        publisher.publishPending();
+
+        Assertions.assertEquals(3, published.size());
+        Assertions.assertEquals(List.of(8L, 9L, 10L), published.stream().map(ChangeEvent::getSequence).toList());
+        verify(repository).markPublished(published.subList(0, 2));
+        Assertions.assertEquals(3, meterRegistry.counter("outbox.published").count());
+    }
+
+    @Test
+    public void testNothingIsPublishedWithoutTheLock() {
+        when(repository.tryLockPublisher()).thenReturn(false);
+
+        publisher.publishPending();
+
+        verify(repository, never()).findPending(anyInt());
+        Assertions.assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void testSinkFailureIsRetriedOnTheNextPoll() {
+        OutboxValues outboxValues = new OutboxValues();
+        ChangeSink failing = changes -> {
+            throw new IllegalStateException("broker down");
+        };
+        publisher = new ChangePublisher(repository, List.of(failing), transactionManager, outboxValues, meterRegistry);
+        when(repository.tryLockPublisher()).thenReturn(true);
+        when(repository.findPending(anyInt())).thenReturn(List.of(change(1)));
+
+        publisher.publishPending();
+
+        Assertions.assertEquals(1, meterRegistry.counter("outbox.publish.failures").count());
+        Assertions.assertEquals(0, meterRegistry.counter("outbox.published").count());
+    }
+}
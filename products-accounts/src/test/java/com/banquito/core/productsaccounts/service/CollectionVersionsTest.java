@@ -0,0 +1,126 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banquito.core.productsaccounts.config.HttpCacheValues;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CollectionVersionsTest {
+
+    private VersionTable table;
+    private ChangeOutbox outbox;
+    private CollectionVersions versions;
+
+    /**
+     * CHANGE_OUTBOX ids taken at insert, and the COLLECTION_VERSION row as Postgres runs it: the
+     * increment locks the row until its writer commits and is only seen by readers after that.
+     */
+    private static final class VersionTable extends ChangeOutboxRepository {
+
+        private final AtomicLong nextChangeId = new AtomicLong(9);
+        private final Map<Thread, Long> changeIds = new ConcurrentHashMap<>();
+        private final ReentrantLock rowLock = new ReentrantLock();
+        private final CountDownLatch inserted = new CountDownLatch(1);
+        private final CountDownLatch resume = new CountDownLatch(1);
+        private volatile Thread pausedAfterInsert;
+        private volatile long committed;
+        private long pending;
+
+        private VersionTable() {
+            super(null);
+        }
+
+        @Override
+        public void insertAll(List<ChangeEvent> changes) {
+            this.changeIds.put(Thread.currentThread(), this.nextChangeId.addAndGet(changes.size()));
+            if (Thread.currentThread() == this.pausedAfterInsert) {
+                this.inserted.countDown();
+                try {
+                    this.resume.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public long incrementVersion(String aggregateType) {
+            this.rowLock.lock();
+            this.pending = this.committed + 1;
+            return this.pending;
+        }
+
+        @Override
+        public long findVersion(String aggregateType) {
+            return this.committed;
+        }
+
+        private void commit() {
+            this.committed = this.pending;
+            this.rowLock.unlock();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        table = new VersionTable();
+        outbox = new ChangeOutbox(table, new ObjectMapper());
+        HttpCacheValues httpCacheValues = new HttpCacheValues();
+        httpCacheValues.setVersionMaxAge(Duration.ZERO);
+        versions = new CollectionVersions(table, httpCacheValues);
+    }
+
+    private void write(String id) {
+        outbox.record(ChangeEvent.INTEREST_RATE, ChangeEvent.UPDATED, id, Map.of("id", id));
+        versions.bump(CollectionVersions.INTEREST_RATES);
+    }
+
+    @Test
+    public void testVersionChangesWhenTheEarlierInsertCommitsLast() throws Exception {
+        Thread writerA = new Thread(() -> {
+            write("A");
+            table.commit();
+        });
+        table.pausedAfterInsert = writerA;
+        String before = versions.etag(CollectionVersions.INTEREST_RATES);
+
+        // A inserts first, then B inserts, takes the version row and commits before A
+        writerA.start();
+        Assertions.assertTrue(table.inserted.await(5, TimeUnit.SECONDS));
+        write("B");
+        table.commit();
+        String afterB = versions.etag(CollectionVersions.INTEREST_RATES);
+        table.resume.countDown();
+        writerA.join(5000);
+        String afterA = versions.etag(CollectionVersions.INTEREST_RATES);
+
+        Assertions.assertTrue(table.changeIds.get(writerA) < table.changeIds.get(Thread.currentThread()));
+        Assertions.assertNotEquals(before, afterB);
+        Assertions.assertNotEquals(afterB, afterA);
+        Assertions.assertEquals("\"interestrates-2\"", afterA);
+    }
+
+    @Test
+    public void testReadersDoNotSeeAnUncommittedWrite() {
+        write("A");
+
+        Assertions.assertEquals(0, versions.getVersion(CollectionVersions.INTEREST_RATES));
+
+        table.commit();
+
+        Assertions.assertEquals(1, versions.getVersion(CollectionVersions.INTEREST_RATES));
+    }
+}
@@ -0,0 +1,91 @@
+package com.banquito.core.productsaccounts.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.banquito.core.productsaccounts.model.AccrualBatch;
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+@ExtendWith(MockitoExtension.class)
+public class InterestAccrualCalculatorTest {
+
+    private static final long DAY = LocalDate.of(2023, 5, 1).toEpochDay();
+
+    @Mock
+    private InterestRateIndex index;
+
+    private InterestRate rate(Integer id, String value) {
+        InterestRate rate = new InterestRate();
+        rate.setId(id);
+        rate.setInterestRate(new BigDecimal(value));
+        return rate;
+    }
+
+    @Test
+    public void testDailyInterestMatchesBigDecimal() {
+        long[][] cases = { { 100_000, 35_000 }, { 1, 1 }, { 9_999_999_999L, 999_999 }, { 12_345, 123_456 } };
+        for (long[] c : cases) {
+            BigDecimal expected = BigDecimal.valueOf(c[0], 2)
+                    .multiply(BigDecimal.valueOf(c[1], 6))
+                    .divide(BigDecimal.valueOf(365), 6, java.math.RoundingMode.HALF_UP);
+            Assertions.assertEquals(expected.movePointRight(6).longValueExact(),
+                    InterestAccrualCalculator.dailyInterestMicros(c[0], c[1]));
+        }
+    }
+
+    @Test
+    public void testComputeResolvesRatesOncePerName() {
+        when(index.findAsOf("AHORRO", DAY)).thenReturn(rate(7, "0.0350"));
+        when(index.findAsOf("PLAZO", DAY)).thenReturn(rate(1, "0.0100"));
+        AccrualBatch batch = new AccrualBatch(3000);
+        for (int i = 0; i < 3000; i++) {
+            batch.add(String.format("PA%06d", i), i % 2 == 0 ? "AHORRO" : "PLAZO", 100_000);
+        }
+
+        new InterestAccrualCalculator(index, ForkJoinPool.commonPool(), 100).compute(batch, DAY);
+
+        Assertions.assertEquals(3000, batch.countAccrued());
+        Assertions.assertEquals(7, batch.getRateIds()[0]);
+        Assertions.assertEquals(35_000, batch.getRatePpm()[0]);
+        Assertions.assertEquals(95_890, batch.getInterestMicros()[0]);
+        Assertions.assertEquals(1, batch.getRateIds()[1]);
+        Assertions.assertEquals(27_397, batch.getInterestMicros()[1]);
+        verify(index, times(1)).findAsOf("AHORRO", DAY);
+        verify(index, times(1)).findAsOf("PLAZO", DAY);
+    }
+
+    @Test
+    public void testAccountsWithoutRateAreNotAccrued() {
+        when(index.findAsOf("AHORRO", DAY)).thenReturn(null);
+        AccrualBatch batch = new AccrualBatch(1);
+        batch.add("PA000001", "AHORRO", 100_000);
+
+        new InterestAccrualCalculator(index, ForkJoinPool.commonPool(), 512).compute(batch, DAY);
+
+        Assertions.assertFalse(batch.isAccrued(0));
+        Assertions.assertEquals(0, batch.getInterestMicros()[0]);
+    }
+
+    @Test
+    public void testAccountsWithoutRateReferenceAreNotAccrued() {
+        AccrualBatch batch = new AccrualBatch(1);
+        batch.add("PA000001", null, 100_000);
+
+        new InterestAccrualCalculator(index, ForkJoinPool.commonPool(), 512).compute(batch, DAY);
+
+        Assertions.assertFalse(batch.isAccrued(0));
+        verifyNoInteractions(index);
+    }
+}
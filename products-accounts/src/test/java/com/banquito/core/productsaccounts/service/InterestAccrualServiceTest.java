@@ -0,0 +1,151 @@
+package com.banquito.core.productsaccounts.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.banquito.core.productsaccounts.config.AccrualValues;
+import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.AccrualBatch;
+import com.banquito.core.productsaccounts.model.AccrualCheckpoint;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestAccrualRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class InterestAccrualServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2023, 5, 1);
+
+    @Mock
+    private InterestAccrualRepository repository;
+
+    @Mock
+    private InterestRateIndex index;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InterestAccrualService service;
+
+    @BeforeEach
+    public void setUp() {
+        AccrualValues accrualValues = new AccrualValues();
+        accrualValues.setPageSize(2);
+        service = new InterestAccrualService(repository, index, accrualValues, transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.destroy();
+    }
+
+    private AccrualBatch page(String... ids) {
+        AccrualBatch batch = new AccrualBatch(2);
+        for (String id : ids) {
+            batch.add(id, "AHORRO", 100_000);
+        }
+        return batch;
+    }
+
+    @Test
+    public void testAccrueWalksPagesAndCheckpointsEach() {
+        InterestRate rate = new InterestRate();
+        rate.setId(1);
+        rate.setInterestRate(new BigDecimal("0.0350"));
+        when(index.findAsOf(eq("AHORRO"), anyLong())).thenReturn(rate);
+        when(repository.findCheckpoint(DATE)).thenReturn(null);
+        when(repository.findPage("", 2)).thenReturn(page("PA01", "PA02"));
+        when(repository.findPage("PA02", 2)).thenReturn(page("PA03"));
+
+        AccrualCheckpoint checkpoint = service.accrue(DATE);
+
+        Assertions.assertEquals(AccrualCheckpoint.FINISHED, checkpoint.getState());
+        Assertions.assertEquals(3, checkpoint.getProcessed());
+        Assertions.assertEquals(0, checkpoint.getSkipped());
+        Assertions.assertEquals("PA03", checkpoint.getLastId());
+        verify(repository, times(2)).insertAll(eq(DATE), any(AccrualBatch.class));
+        verify(repository, times(3)).saveCheckpoint(checkpoint);
+    }
+
+    @Test
+    public void testAccrueResumesAfterCheckpoint() {
+        when(repository.findCheckpoint(DATE)).thenReturn(AccrualCheckpoint.builder()
+            .accrualDate(DATE).lastId("PA02").processed(2).state(AccrualCheckpoint.RUNNING).build());
+        when(repository.findPage("PA02", 2)).thenReturn(page());
+
+        AccrualCheckpoint checkpoint = service.accrue(DATE);
+
+        Assertions.assertEquals(2, checkpoint.getProcessed());
+        Assertions.assertEquals(0, checkpoint.getProcessedInRun());
+        verify(repository, never()).findPage("", 2);
+    }
+
+    @Test
+    public void testFinishedDayIsNotAccruedAgain() {
+        when(repository.findCheckpoint(DATE)).thenReturn(AccrualCheckpoint.builder()
+            .accrualDate(DATE).lastId("PA03").processed(3).state(AccrualCheckpoint.FINISHED).build());
+
+        service.accrue(DATE);
+
+        verify(repository, never()).findPage(anyString(), eq(2));
+    }
+
+    @Test
+    public void testAccrueFailureIsReportedAs540() {
+        when(repository.findCheckpoint(DATE)).thenThrow(new IllegalStateException("down"));
+
+        CRUDException e = Assertions.assertThrows(CRUDException.class, () -> service.accrue(DATE));
+
+        Assertions.assertEquals(540, e.getErrorCode());
+    }
+
+    @Test
+    public void testStartRunsOffTheCallerThread() {
+        when(repository.findCheckpoint(DATE)).thenReturn(null);
+        when(repository.findPage("", 2)).thenReturn(page());
+
+        AccrualCheckpoint checkpoint = service.start(DATE);
+
+        Assertions.assertEquals(AccrualCheckpoint.RUNNING, checkpoint.getState());
+        Assertions.assertEquals(0, checkpoint.getProcessed());
+        verify(repository, timeout(5000)).saveCheckpoint(any(AccrualCheckpoint.class));
+    }
+
+    @Test
+    public void testStartOfFinishedDayReturnsItsCheckpoint() {
+        when(repository.findCheckpoint(DATE)).thenReturn(AccrualCheckpoint.builder()
+            .accrualDate(DATE).lastId("PA03").processed(3).state(AccrualCheckpoint.FINISHED).build());
+
+        AccrualCheckpoint checkpoint = service.start(DATE);
+
+        Assertions.assertEquals(AccrualCheckpoint.FINISHED, checkpoint.getState());
+        verify(repository, never()).findPage(anyString(), eq(2));
+    }
+
+    @Test
+    public void testProgressOfNotStartedDayIs404() {
+        when(repository.findCheckpoint(DATE)).thenReturn(null);
+
+        CRUDException e = Assertions.assertThrows(CRUDException.class, () -> service.obtainProgress(DATE));
+
+        Assertions.assertEquals(404, e.getErrorCode());
+    }
+}
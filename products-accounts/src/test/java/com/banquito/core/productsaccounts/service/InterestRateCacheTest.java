@@ -0,0 +1,134 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InterestRateCacheTest {
+
+    private InterestRateCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new InterestRateCache();
+        loads = new AtomicInteger();
+    }
+
+    private InterestRate rate(Integer id) {
+        InterestRate rate = new InterestRate();
+        rate.setId(id);
+        rate.setState("ACT");
+        rate.setInterestRate(BigDecimal.valueOf(0.05));
+        return rate;
+    }
+
+    @Test
+    public void testActivesAreLoadedOnce() {
+        List<InterestRate> first = cache.getActives(() -> {
+            loads.incrementAndGet();
+            return List.of(rate(1));
+        });
+        List<InterestRate> second = cache.getActives(() -> {
+            loads.incrementAndGet();
+            return List.of(rate(2));
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidateReloadsActives() {
+        cache.getActives(() -> List.of(rate(1)));
+        cache.invalidate(1);
+
+        List<InterestRate> reloaded = cache.getActives(() -> List.of(rate(1), rate(2)));
+
+        Assertions.assertEquals(2, reloaded.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+        Assertions.assertEquals(1, cache.getVersion());
+    }
+
+    @Test
+    public void testByIdIsCachedUntilInvalidated() {
+        cache.getById(1, () -> {
+            loads.incrementAndGet();
+            return rate(1);
+        });
+        cache.getById(1, () -> {
+            loads.incrementAndGet();
+            return rate(1);
+        });
+        Assertions.assertEquals(1, loads.get());
+
+        cache.invalidate(1);
+        cache.getById(1, () -> {
+            loads.incrementAndGet();
+            return rate(1);
+        });
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testMissingIdIsNotCached() {
+        Assertions.assertNull(cache.getById(7, () -> null));
+        Assertions.assertNull(cache.getById(7, () -> null));
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testGetAllByIdLoadsMissesInOneCall() {
+        cache.getById(1, () -> rate(1));
+        List<Integer> requested = new ArrayList<>();
+
+        List<InterestRate> rates = cache.getAllById(List.of(3, 1, 2, 3), ids -> {
+            loads.incrementAndGet();
+            requested.addAll(ids);
+            return List.of(rate(3));
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(List.of(3, 2), requested);
+        Assertions.assertEquals(Integer.valueOf(3), rates.get(0).getId());
+        Assertions.assertEquals(Integer.valueOf(1), rates.get(1).getId());
+        Assertions.assertNull(rates.get(2));
+        Assertions.assertSame(rates.get(0), rates.get(3));
+        Assertions.assertSame(rates.get(0), cache.getById(3, () -> null));
+    }
+
+    @Test
+    public void testSyncDropsEverythingWhenTheCollectionVersionMoves() {
+        cache.sync(1);
+        cache.getActives(() -> List.of(rate(1)));
+        cache.getById(1, () -> rate(1));
+        cache.sync(1);
+        cache.getActives(() -> {
+            loads.incrementAndGet();
+            return List.of(rate(1));
+        });
+        Assertions.assertEquals(0, loads.get());
+
+        cache.sync(2);
+        cache.getActives(() -> {
+            loads.incrementAndGet();
+            return List.of(rate(1));
+        });
+        cache.getById(1, () -> {
+            loads.incrementAndGet();
+            return rate(1);
+        });
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(2, cache.getEvictions());
+    }
+}
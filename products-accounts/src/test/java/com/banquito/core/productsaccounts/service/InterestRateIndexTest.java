@@ -0,0 +1,138 @@
+package com.banquito.core.productsaccounts.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.banquito.core.productsaccounts.config.HttpCacheValues;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.ChangeOutboxRepository;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class InterestRateIndexTest {
+
+    @Mock
+    private InterestRateRepository repository;
+
+    private AtomicLong collectionVersion;
+    private InterestRateIndex index;
+
+    private InterestRate january;
+    private InterestRate march;
+
+    @BeforeEach
+    public void setUp() {
+        collectionVersion = new AtomicLong();
+        HttpCacheValues httpCacheValues = new HttpCacheValues();
+        httpCacheValues.setVersionMaxAge(Duration.ZERO);
+        CollectionVersions versions = new CollectionVersions(new ChangeOutboxRepository(null) {
+
+            @Override
+            public long findVersion(String aggregateType) {
+                return collectionVersion.get();
+            }
+        }, httpCacheValues);
+        index = new InterestRateIndex(repository, versions);
+        january = rate(1, "AHORRO", "0.0300", "2023-01-01", "2023-03-01");
+        march = rate(2, "AHORRO", "0.0350", "2023-03-01", null);
+    }
+
+    private InterestRate rate(Integer id, String name, String value, String start, String end) {
+        InterestRate rate = new InterestRate();
+        rate.setId(id);
+        rate.setName(name);
+        rate.setInterestRate(new BigDecimal(value));
+        rate.setState(end == null ? "ACT" : "INA");
+        rate.setStart(Date.valueOf(start));
+        rate.setEnd(end == null ? null : Date.valueOf(end));
+        return rate;
+    }
+
+    @Test
+    public void testFindAsOfResolvesIntervals() {
+        when(repository.findAll()).thenReturn(List.of(march, january));
+
+        Assertions.assertNull(index.findAsOf("AHORRO", LocalDate.of(2022, 12, 31)));
+        Assertions.assertSame(january, index.findAsOf("AHORRO", LocalDate.of(2023, 1, 1)));
+        Assertions.assertSame(january, index.findAsOf("AHORRO", LocalDate.of(2023, 2, 28)));
+        Assertions.assertSame(march, index.findAsOf("AHORRO", LocalDate.of(2023, 3, 1)));
+        Assertions.assertSame(march, index.findAsOf("AHORRO", LocalDate.of(2030, 1, 1)));
+        Assertions.assertNull(index.findAsOf("PLAZO", LocalDate.of(2023, 3, 1)));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void testLaterStartWinsOnOverlap() {
+        InterestRate open = rate(3, "PLAZO", "0.0500", "2023-01-01", null);
+        InterestRate promo = rate(4, "PLAZO", "0.0700", "2023-06-01", null);
+        when(repository.findAll()).thenReturn(List.of(open, promo));
+
+        Assertions.assertSame(open, index.findAsOf("PLAZO", LocalDate.of(2023, 5, 31)));
+        Assertions.assertSame(promo, index.findAsOf("PLAZO", LocalDate.of(2023, 6, 1)));
+    }
+
+    @Test
+    public void testEarlierOpenRateAppliesAgainAfterLaterOneEnds() {
+        InterestRate open = rate(3, "PLAZO", "0.0500", "2023-01-01", null);
+        InterestRate promo = rate(4, "PLAZO", "0.0700", "2024-01-01", "2024-06-01");
+        when(repository.findAll()).thenReturn(List.of(promo, open));
+
+        Assertions.assertSame(open, index.findAsOf("PLAZO", LocalDate.of(2023, 12, 31)));
+        Assertions.assertSame(promo, index.findAsOf("PLAZO", LocalDate.of(2024, 1, 1)));
+        Assertions.assertSame(promo, index.findAsOf("PLAZO", LocalDate.of(2024, 5, 31)));
+        Assertions.assertSame(open, index.findAsOf("PLAZO", LocalDate.of(2024, 6, 1)));
+        Assertions.assertSame(open, index.findAsOf("PLAZO", LocalDate.of(2024, 7, 1)));
+    }
+
+    @Test
+    public void testRefreshRebuildsOnlyChangedNames() {
+        InterestRate other = rate(5, "PLAZO", "0.0500", "2023-01-01", null);
+        when(repository.findAll()).thenReturn(List.of(january, march, other));
+        index.reload();
+
+        InterestRate renamed = rate(2, "AHORRO PLUS", "0.0400", "2023-03-01", null);
+        when(repository.findByName("AHORRO PLUS")).thenReturn(List.of(renamed));
+        when(repository.findByName("AHORRO")).thenReturn(List.of(january));
+        index.refresh(renamed);
+
+        Assertions.assertSame(renamed, index.findAsOf("AHORRO PLUS", LocalDate.of(2023, 4, 1)));
+        Assertions.assertNull(index.findAsOf("AHORRO", LocalDate.of(2023, 4, 1)));
+        Assertions.assertSame(other, index.findAsOf("PLAZO", LocalDate.of(2023, 4, 1)));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void testRefreshBeforeFirstLoadIsDeferred() {
+        index.refresh(march);
+
+        verify(repository, times(0)).findByName("AHORRO");
+    }
+
+    @Test
+    public void testWriteOfAnotherInstanceIsLoadedWhenTheVersionMoves() {
+        InterestRate raised = rate(2, "AHORRO", "0.0400", "2023-03-01", null);
+        when(repository.findAll()).thenReturn(List.of(january, march)).thenReturn(List.of(january, raised));
+        Assertions.assertSame(march, index.findAsOf("AHORRO", LocalDate.of(2023, 4, 1)));
+        Assertions.assertSame(march, index.findAsOf("AHORRO", LocalDate.of(2023, 4, 1)));
+
+        collectionVersion.incrementAndGet();
+
+        Assertions.assertSame(raised, index.findAsOf("AHORRO", LocalDate.of(2023, 4, 1)));
+        verify(repository, times(2)).findAll();
+    }
+}
@@ -1,5 +1,6 @@
 package com.banquito.core.productsaccounts.service;
 import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
 import com.banquito.core.productsaccounts.model.InterestRate;
 import com.banquito.core.productsaccounts.repository.InterestRateRepository;
 import org.junit.Before;
@@ -9,8 +10,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +29,15 @@ public class InterestRateServiceTest {
     @Mock
     private InterestRateRepository repository;
 
+    @Mock
+    private InterestRateIndex index;
+
+    @Mock
+    private CollectionVersions versions;
+
+    @Mock
+    private ChangeOutbox outbox;
+
     @InjectMocks
     private InterestRateService service;
 
@@ -53,6 +66,21 @@ public class InterestRateServiceTest {
         verify(repository, times(1)).findByState("ACT");
     }
 
+    @Test
+    public void testListAllActivesReloadsWhenTheCollectionVersionMoves() {
+        InterestRate rate = new InterestRate();
+        rate.setId(1);
+        rate.setState("ACT");
+        when(repository.findByState("ACT")).thenReturn(List.of(rate));
+        when(versions.getVersion(CollectionVersions.INTEREST_RATES)).thenReturn(1L, 1L, 2L);
+
+        service.listAllActives();
+        service.listAllActives();
+        service.listAllActives();
+
+        verify(repository, times(2)).findByState("ACT");
+    }
+
     @Test
     public void testObtainById() {
         Integer id = 1;
@@ -89,6 +117,7 @@ public class InterestRateServiceTest {
         service.create(mockRate);
 
         verify(repository, times(1)).save(mockRate);
+        verify(versions, times(1)).bump(CollectionVersions.INTEREST_RATES);
     }
 
     @Test(expected = CRUDException.class)
@@ -99,7 +128,11 @@ public class InterestRateServiceTest {
         mockRate.setInterestRate(new BigDecimal(0.5));
         doThrow(new RuntimeException("Test exception")).when(repository).save(mockRate);
 
-        service.create(mockRate);
+        try {
+            service.create(mockRate);
+        } finally {
+            verify(versions, never()).bump(CollectionVersions.INTEREST_RATES);
+        }
     }
     @Test
     public void testUpdateInterestRate() throws CRUDException {
@@ -113,20 +146,22 @@ public class InterestRateServiceTest {
 //        "Interest Rate", 0.01
         existingInterestRate.setName("Interest Rate");
         existingInterestRate.setInterestRate(BigDecimal.valueOf(0.01));
-        when(repository.findById(id)).thenReturn(Optional.of(existingInterestRate));
-        when(repository.save(existingInterestRate)).thenReturn(existingInterestRate);
+        existingInterestRate.setName("Updated Interest Rate");
+        existingInterestRate.setInterestRate(BigDecimal.valueOf(0.05));
+        when(repository.updateReturning(id, "Updated Interest Rate", BigDecimal.valueOf(0.05)))
+                .thenReturn(Optional.of(existingInterestRate));
 
         // Act
-        service.update(id, interestRateToUpdate);
+        InterestRate updated = service.update(id, interestRateToUpdate);
 
-        // Assert
-        assertEquals(interestRateToUpdate.getName(), existingInterestRate.getName());
-        assertEquals(interestRateToUpdate.getInterestRate(), existingInterestRate.getInterestRate());
-        verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).save(existingInterestRate);
+        // Assert: one UPDATE ... RETURNING statement, no read before or after
+        assertEquals(interestRateToUpdate.getName(), updated.getName());
+        assertEquals(interestRateToUpdate.getInterestRate(), updated.getInterestRate());
+        verify(repository, times(1)).updateReturning(id, "Updated Interest Rate", BigDecimal.valueOf(0.05));
+        verifyNoMoreInteractions(repository);
     }
 
-    @Test(expected = CRUDException.class)
+    @Test
     public void testUpdateInterestRateNonExisting() throws CRUDException {
         // Arrange
         Integer id = 1;
@@ -134,29 +169,79 @@ public class InterestRateServiceTest {
 //        "Updated Interest Rate", 0.05
         interestRateToUpdate.setName("Updated Interest Rate");
         interestRateToUpdate.setInterestRate(BigDecimal.valueOf(0.05));
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.updateReturning(id, "Updated Interest Rate", BigDecimal.valueOf(0.05)))
+                .thenReturn(Optional.empty());
 
         // Act
-        service.update(id, interestRateToUpdate);
+        CRUDException e = assertThrows(CRUDException.class, () -> service.update(id, interestRateToUpdate));
+
+        // Assert
+        assertEquals(404, e.getErrorCode().intValue());
+    }
+    @Test
+    public void testObtainAsOf() {
+        InterestRate rate = new InterestRate();
+        rate.setId(1);
+        rate.setName("AHORRO");
+        LocalDate date = LocalDate.of(2023, 5, 1);
+        when(index.findAsOf("AHORRO", date)).thenReturn(rate);
 
-        // Assert (will throw exception)
+        assertSame(rate, service.obtainAsOf("AHORRO", date));
+        verifyNoInteractions(repository);
     }
+
+    @Test(expected = CRUDException.class)
+    public void testObtainAsOfNotInEffect() {
+        when(index.findAsOf("AHORRO", LocalDate.of(1999, 1, 1))).thenReturn(null);
+
+        service.obtainAsOf("AHORRO", LocalDate.of(1999, 1, 1));
+    }
+
     @Test
     public void testInactivate() throws Exception {
         // Arrange
         Integer id = 1;
         InterestRate interestRate = new InterestRate();
         interestRate.setId(id);
-        interestRate.setState("ACT");
+        interestRate.setState("INA");
         interestRate.setStart(new Date());
-        when(repository.findById(id)).thenReturn(Optional.of(interestRate));
+        interestRate.setEnd(new Date());
+        when(repository.inactivateReturning(eq(id), any(Date.class))).thenReturn(Optional.of(interestRate));
 
         // Act
         service.inactivate(id);
 
-        // Assert
-        verify(repository).save(interestRate);
-        assertEquals("INA", interestRate.getState());
-        assertNotNull(interestRate.getEnd());
+        // Assert: one atomic UPDATE ... RETURNING, no read-modify-write
+        verify(repository).inactivateReturning(eq(id), notNull());
+        verify(repository, never()).findById(id);
+        verify(repository, never()).save(any());
+        verify(index).refresh(List.of(interestRate));
+        verify(outbox).record(ChangeEvent.INTEREST_RATE, ChangeEvent.INACTIVATED, id, interestRate);
+    }
+
+    @Test
+    public void testInactivateNonExisting() {
+        when(repository.inactivateReturning(eq(1), any(Date.class))).thenReturn(Optional.empty());
+
+        CRUDException e = assertThrows(CRUDException.class, () -> service.inactivate(1));
+
+        assertEquals(404, e.getErrorCode().intValue());
+    }
+
+    @Test
+    public void testEvictionWaitsForCommit() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(1);
+        when(repository.inactivateReturning(eq(1), any(Date.class))).thenReturn(Optional.of(interestRate));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.inactivate(1);
+            verifyNoInteractions(index);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(index).refresh(List.of(interestRate));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 }
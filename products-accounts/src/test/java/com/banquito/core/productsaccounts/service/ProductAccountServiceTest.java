@@ -1,14 +1,21 @@
 package com.banquito.core.productsaccounts.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.ChangeEvent;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
 import org.junit.jupiter.api.Assertions;
@@ -16,13 +23,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
 
 public class ProductAccountServiceTest {
 
     @Mock
     private ProductAccountRepository repository;
 
+    @Mock
+    private CollectionVersions versions;
+
+    @Mock
+    private ChangeOutbox outbox;
+
     @InjectMocks
     private ProductAccountService service;
 
@@ -43,8 +58,9 @@ public class ProductAccountServiceTest {
         // call the create method
         service.create(productAccount);
 
-        // verify that the creation date was set
+        // verify that the creation date was set and the change recorded
         Assertions.assertNotNull(productAccount.getCreationDate());
+        verify(outbox).record(ChangeEvent.PRODUCT_ACCOUNT, ChangeEvent.CREATED, productAccount.getId(), productAccount);
     }
 
     @Test
@@ -102,4 +118,47 @@ public class ProductAccountServiceTest {
         List<ProductAccount> result = service.listAllActives();
         assertEquals(3, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testListActivesFirstPage() {
+        List<ProductAccount> page = Arrays.asList(new ProductAccount(), new ProductAccount());
+        when(repository.findByStateAndIdGreaterThanOrderByIdAsc(eq("ACT"), eq(""), any(Pageable.class))).thenReturn(page);
+
+        List<ProductAccount> result = service.listActivesPage(null, 2);
+
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    public void testCreateAllProductAccounts() {
+        List<ProductAccount> productAccounts = Arrays.asList(new ProductAccount(), new ProductAccount());
+
+        service.createAll(productAccounts);
+
+        verify(repository).insertAll(productAccounts);
+        Assertions.assertNotNull(productAccounts.get(0).getCreationDate());
+        Assertions.assertNotNull(productAccounts.get(1).getCreationDate());
+    }
+
+    @Test
+    public void testCreateAllProductAccountsException() {
+        List<ProductAccount> productAccounts = Arrays.asList(new ProductAccount());
+        doThrow(new RuntimeException("duplicate key")).when(repository).insertAll(productAccounts);
+
+        Assertions.assertThrows(CRUDException.class, () -> service.createAll(productAccounts));
+    }
+
+    @Test
+    public void testObtainByIdsKeepsRequestOrder() {
+        ProductAccount first = new ProductAccount();
+        first.setId("PA1");
+        ProductAccount third = new ProductAccount();
+        third.setId("PA3");
+        when(repository.findAllById(any())).thenReturn(Arrays.asList(third, first));
+
+        List<ProductAccount> productAccounts = service.obtainByIds(Arrays.asList("PA1", "PA2", "PA3", "PA1"));
+
+        Assertions.assertEquals(Arrays.asList(first, null, third, first), productAccounts);
+        verify(repository).findAllById(Mockito.argThat(ids -> ((Collection<?>) ids).size() == 3));
+    }
+}